@@ -19,7 +19,6 @@ package org.secuso.privacyfriendlyminesweeper.activities;
 
 import android.content.DialogInterface;
 import android.content.SharedPreferences;
-import android.content.res.Configuration;
 import android.os.Bundle;
 import android.os.Handler;
 import android.support.annotation.NonNull;
@@ -29,21 +28,27 @@ import android.support.v4.app.FragmentManager;
 import android.support.v4.app.FragmentPagerAdapter;
 import android.support.v4.view.ViewPager;
 import android.support.v7.app.AlertDialog;
-import android.util.DisplayMetrics;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
+import android.widget.CheckBox;
+import android.widget.CompoundButton;
 import android.widget.ImageView;
 import android.widget.TextView;
 import android.content.Intent;
 import android.widget.Toast;
 
+import java.io.File;
+
 import org.secuso.privacyfriendlyminesweeper.R;
 import org.secuso.privacyfriendlyminesweeper.activities.dialogs.UserDefinedGameModeDialogFragment;
 import org.secuso.privacyfriendlyminesweeper.activities.helper.BaseActivity;
+import org.secuso.privacyfriendlyminesweeper.database.DatabaseJournalRecovery;
 import org.secuso.privacyfriendlyminesweeper.database.DatabaseSavedGamesCheck;
-import org.secuso.privacyfriendlyminesweeper.database.PFMSQLiteHelper;
+import org.secuso.privacyfriendlyminesweeper.database.PFMDatabaseManager;
+import org.secuso.privacyfriendlyminesweeper.engine.NoGuessGenerator;
+import org.secuso.privacyfriendlyminesweeper.helpers.BoardPoolManager;
 
 /**
  * @author Christopher Beckmann, I3ananas
@@ -53,28 +58,42 @@ import org.secuso.privacyfriendlyminesweeper.database.PFMSQLiteHelper;
 
 public class GameActivity extends BaseActivity implements View.OnClickListener, DatabaseSavedGamesCheck.DatabaseSavedGamesCheckReceiver {
 
+    //maximum number of columns and rows of a user-defined playing field
+    public static final int MAX_COLUMNS_AND_ROWS = 1000;
+
     private ViewPager mViewPager;
     private ImageView mArrowLeft;
     private ImageView mArrowRight;
     private int index;
     private Button continueButton;
-    private float screen_width_dp;
-    private float screen_height_dp;
-    private float min_dp_per_field;
+    private CheckBox noGuessCheckBox;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_game);
 
+        //a game whose process was killed is added to the saved games, before they are checked in onResume
+        PFMDatabaseManager database = PFMDatabaseManager.getInstance(this);
+        DatabaseJournalRecovery recovery = new DatabaseJournalRecovery(database.getHelper());
+        recovery.executeOnExecutor(database.getExecutor(), new File(getFilesDir(), PlayActivity.JOURNAL_DIRECTORY));
+
         Button button_start_game = (Button) findViewById(R.id.game_button_start);
         button_start_game.setOnClickListener(this);
 
-        DisplayMetrics dm = new DisplayMetrics();
-        getWindowManager().getDefaultDisplay().getMetrics(dm);
-        screen_width_dp = dm.widthPixels/getResources().getDisplayMetrics().density;
-        screen_height_dp = dm.heightPixels/getResources().getDisplayMetrics().density;
-        min_dp_per_field = 30;
+        //new games only get playing fields that can be solved without guessing (see NoGuessGenerator)
+        noGuessCheckBox = (CheckBox) findViewById(R.id.game_checkbox_no_guess);
+        noGuessCheckBox.setChecked(mSharedPreferences.getBoolean("noGuess", false));
+        noGuessCheckBox.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
+            @Override
+            public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
+                SharedPreferences.Editor editor = mSharedPreferences.edit();
+                editor.putBoolean("noGuess", isChecked);
+                editor.apply();
+                fillBoardPools();
+            }
+        });
+        fillBoardPools();
 
         final SectionsPagerAdapter mSectionsPagerAdapter = new SectionsPagerAdapter(getSupportFragmentManager());
         // Set up the ViewPager with the sections adapter.
@@ -144,32 +163,17 @@ public class GameActivity extends BaseActivity implements View.OnClickListener,
                     case 0:
                         //values[0] = width, values[1] = height, values[2] = number of mines
                         //preset values for an easy game are 6,10,7
-                        if(!checkIfScreenLargeEnough(6, 10)){
-                            showDialogIfScreenTooSmall(6,10,7);
-                        }
-                        else{
-                            startGame(6,10,7);
-                        }
+                        startGame(6,10,7);
                         break;
                     case 1:
                         //values[0] = width, values[1] = height, values[2] = number of mines
                         //preset values for an medium game are 10,16,24
-                        if(!checkIfScreenLargeEnough(10, 16)){
-                            showDialogIfScreenTooSmall(10, 16,24);
-                        }
-                        else {
-                            startGame(10,16,24);
-                        }
+                        startGame(10,16,24);
                         break;
                     case 2:
                         //values[0] = width, values[1] = height, values[2] = number of mines
                         //preset values for an hard game are 12,19,46
-                        if(!checkIfScreenLargeEnough(12, 19)){
-                            showDialogIfScreenTooSmall(12, 19, 46);
-                        }
-                        else{
-                            startGame(12,19,46);
-                        }
+                        startGame(12,19,46);
                         break;
                     case 3:
                         showDialogForUserDefinedGameMode();
@@ -188,11 +192,12 @@ public class GameActivity extends BaseActivity implements View.OnClickListener,
     @Override
     public void onResume(){
         super.onResume();
-        final DatabaseSavedGamesCheck check = new DatabaseSavedGamesCheck(new PFMSQLiteHelper(getApplicationContext()), this);
+        final PFMDatabaseManager database = PFMDatabaseManager.getInstance(this);
+        final DatabaseSavedGamesCheck check = new DatabaseSavedGamesCheck(database.getHelper(), this);
         final Handler handler = new Handler();handler.postDelayed(new Runnable() {
             @Override
             public void run() {
-                check.execute();
+                check.executeOnExecutor(database.getExecutor());
             }
         }, 400);
     }
@@ -212,51 +217,15 @@ public class GameActivity extends BaseActivity implements View.OnClickListener,
     }
 
     /**
-     * This method checks if the screen of the device is large enough to play the selected game mode appropriate
-     * @param nrOfColumns number of columns of the playing field
-     * @param nrOfRows number of rows of the playing field
-     * @return true, if screen is large enough for selected game mode, false otherwise
+     * This method starts the generation of playing fields for the three game modes in background,
+     * so the first click of the next game does not have to wait for them
      */
-    private boolean checkIfScreenLargeEnough(int nrOfColumns, int nrOfRows){
-        boolean screenLargeEnough = false;
-
-        if(getResources().getConfiguration().orientation == Configuration.ORIENTATION_LANDSCAPE){
-            if(((screen_width_dp / nrOfRows) >= min_dp_per_field) && ((screen_height_dp / nrOfColumns) >= min_dp_per_field)){
-                screenLargeEnough = true;
-            }
-        } else {
-            if(((screen_width_dp / nrOfColumns) >= min_dp_per_field) && ((screen_height_dp / nrOfRows) >= min_dp_per_field)){
-                screenLargeEnough = true;
-            }
-        }
-        return screenLargeEnough;
-    }
-
-    /**
-     * This method shows a dialog if the screen is too small to play the selected game mode appropriate
-     * If the user chooses to continue, the game is started
-     * @param columns Number of columns of the playing field
-     * @param rows Number of rows of the playing field
-     * @param nrOfBombs Number of bombs on the playing field
-     */
-    private void showDialogIfScreenTooSmall(final int columns, final int rows, final int nrOfBombs){
-        AlertDialog.Builder builder = new AlertDialog.Builder(this);
-        builder.setTitle(R.string.screenTooSmall_title);
-        builder.setMessage(R.string.screenTooSmall);
-        builder.setPositiveButton(R.string.startGame, new DialogInterface.OnClickListener() {
-            @Override
-            public void onClick(DialogInterface dialog, int id) {
-                startGame(columns, rows, nrOfBombs);
-            }
-        });
-        builder.setNegativeButton(R.string.cancel, new DialogInterface.OnClickListener() {
-            @Override
-            public void onClick(DialogInterface dialog, int id) {
-                //do nothing
-            }
-        });
-        AlertDialog dialog = builder.create();
-        dialog.show();
+    private void fillBoardPools(){
+        BoardPoolManager boardPools = BoardPoolManager.getInstance();
+        boolean noGuess = noGuessCheckBox.isChecked();
+        boardPools.getPool(6, 10, 7, noGuess).fill();
+        boardPools.getPool(10, 16, 24, noGuess).fill();
+        boardPools.getPool(12, 19, 46, noGuess).fill();
     }
 
     /**
@@ -275,16 +244,12 @@ public class GameActivity extends BaseActivity implements View.OnClickListener,
      */
     public void userDefinedGameDialog_positiveClick(int nrOfColumns, int nrOfRows, int nrOfMines){
 
-        if(nrOfColumns > 20 || nrOfRows > 25){
+        //the playing field can be zoomed and moved, so it does not have to fit on the screen
+        if(nrOfColumns > MAX_COLUMNS_AND_ROWS || nrOfRows > MAX_COLUMNS_AND_ROWS){
             Toast.makeText(this, getResources().getString(R.string.too_much_cells), Toast.LENGTH_SHORT).show();
         }
         else{
-            if(!checkIfScreenLargeEnough(nrOfColumns, nrOfRows)){
-                showDialogIfScreenTooSmall(nrOfColumns, nrOfRows, nrOfMines);
-            }
-            else{
-                startGame(nrOfColumns, nrOfRows, nrOfMines);
-            }
+            startGame(nrOfColumns, nrOfRows, nrOfMines);
         }
     }
 
@@ -315,7 +280,14 @@ public class GameActivity extends BaseActivity implements View.OnClickListener,
         //param will consist of the information needed to build the playing field with the desired width, height and number of mines
         Bundle param = new Bundle();
         Intent intent_with_param;
-        param.putShortArray("info", new short[]{(short)columns, (short)rows, (short)nrOfBombs});
+        param.putIntArray("info", new int[]{columns, rows, nrOfBombs});
+        //larger playing fields without guessing take too long to find after the first click
+        boolean noGuess = noGuessCheckBox.isChecked();
+        if (noGuess && columns * rows > NoGuessGenerator.MAX_CELLS) {
+            noGuess = false;
+            Toast.makeText(this, getResources().getString(R.string.no_guess_too_many_cells, NoGuessGenerator.MAX_CELLS), Toast.LENGTH_LONG).show();
+        }
+        param.putBoolean("noguess", noGuess);
         intent_with_param = new Intent(this, PlayActivity.class);
         intent_with_param.putExtras(param);
         startActivity(intent_with_param);
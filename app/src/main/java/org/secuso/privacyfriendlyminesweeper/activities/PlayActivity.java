@@ -22,20 +22,14 @@ import android.content.SharedPreferences;
 import android.content.pm.ActivityInfo;
 import android.content.res.Configuration;
 import android.graphics.Point;
-import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.SystemClock;
 import android.preference.PreferenceManager;
-import android.support.v4.content.res.ResourcesCompat;
 import android.support.v7.app.AppCompatActivity;
-import android.support.v7.widget.GridLayoutManager;
-import android.support.v7.widget.LinearLayoutManager;
-import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.Toolbar;
-import android.text.SpannableStringBuilder;
-import android.util.DisplayMetrics;
+import android.util.Log;
 import android.view.Display;
 import android.view.Surface;
 import android.view.View;
@@ -43,20 +37,38 @@ import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.Chronometer;
 import android.widget.ImageView;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import org.secuso.privacyfriendlyminesweeper.R;
-import org.secuso.privacyfriendlyminesweeper.activities.adapter.PlayRecyclerViewAdapter;
-import org.secuso.privacyfriendlyminesweeper.activities.helper.CellView;
+import org.secuso.privacyfriendlyminesweeper.activities.helper.BoardSurfaceView;
+import org.secuso.privacyfriendlyminesweeper.activities.helper.PlayingField;
 import org.secuso.privacyfriendlyminesweeper.database.DatabaseBestTimeReader;
 import org.secuso.privacyfriendlyminesweeper.database.DatabaseBestTimeReader.BestTimeReaderReceiver;
+import org.secuso.privacyfriendlyminesweeper.database.DatabaseSavedGameDeleter;
 import org.secuso.privacyfriendlyminesweeper.database.DatabaseSavedGameProvide;
+import org.secuso.privacyfriendlyminesweeper.database.DatabaseSavedGameProvide.SavedGameProvideReceiver;
 import org.secuso.privacyfriendlyminesweeper.database.DatabaseSavedGameWriter;
 import org.secuso.privacyfriendlyminesweeper.database.DatabaseWriter;
-import org.secuso.privacyfriendlyminesweeper.database.PFMSQLiteHelper;
-
+import org.secuso.privacyfriendlyminesweeper.database.PFMDatabaseManager;
+import org.secuso.privacyfriendlyminesweeper.database.PFMSavedGameDataType;
+import org.secuso.privacyfriendlyminesweeper.engine.Board;
+import org.secuso.privacyfriendlyminesweeper.engine.BoardOrientation;
+import org.secuso.privacyfriendlyminesweeper.engine.BoardPool;
+import org.secuso.privacyfriendlyminesweeper.engine.CellList;
+import org.secuso.privacyfriendlyminesweeper.engine.GameEngine;
+import org.secuso.privacyfriendlyminesweeper.engine.GameJournal;
+import org.secuso.privacyfriendlyminesweeper.engine.MoveLog;
+import org.secuso.privacyfriendlyminesweeper.engine.NoGuessGenerator;
+import org.secuso.privacyfriendlyminesweeper.engine.ParallelBoardGenerator;
+import org.secuso.privacyfriendlyminesweeper.engine.SavedGameCodec;
+import org.secuso.privacyfriendlyminesweeper.helpers.BoardPoolManager;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -73,44 +85,50 @@ import java.util.Random;
  * - save games
  * - load saved games
  */
-public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewAdapter.ItemClickListener, BestTimeReaderReceiver {
-    PlayRecyclerViewAdapter adapter;
+public class PlayActivity extends AppCompatActivity implements PlayingField.OnCellClickListener, BestTimeReaderReceiver, SavedGameProvideReceiver {
+    //playing fields with more cells are drawn on a render thread
+    static final int RENDER_THREAD_MIN_CELLS = 10000;
+    //journals of the games that are played, one file per game, recovered by the GameActivity if the process was killed
+    public static final String JOURNAL_DIRECTORY = "journals";
+    public static final String JOURNAL_SUFFIX = ".journal";
+    //larger games are kept in this file instead of the instance state, the bundle is sent through binder on recreation
+    static final int MAX_BUNDLED_GAME_BYTES = 64 * 1024;
+    static final String INSTANCE_STATE_FILE = "instance_state.game";
+
     SharedPreferences sharedPreferences;
     String game_mode;
     int numberOfRows;
     int numberOfColumns;
     int numberOfBombs;
     int numberOfCells;
-    RecyclerView recyclerView;
-    int maxHeight;
-    boolean firstTime;
+    PlayingField playingField;
     boolean marking;
-    int[] data;
-    int[] status;
+    GameEngine engine;
     TextView mines;
-    int bombsLeft;
-    int countDownToWin;
     boolean firstClick;
     Bundle parameter;
     Chronometer timer;
     DatabaseBestTimeReader bestTimeReader;
     DatabaseWriter writer;
+    PFMDatabaseManager database;
     int bestTime;
     boolean newBestTime;
-    Boolean revealingAround;
     boolean gameEnded;
     boolean savecheck;
-    String savedContent;
-    String savedStatus;
+    int savedGameId;
+    boolean loadingSavedGame;
+    GameJournal journal;
+    File journalFile;
     int totalSavedSeconds;
     Toolbar toolbar;
     Handler handler;
-    int[] landscape_data;
-    int[] landscape_status;
-    int[] not_in_use_data;
-    int[] not_in_use_status;
     boolean savedinstancestate;
-    int desired_width;
+    //the mines of a new game are placed so that no guessing is needed
+    boolean noGuess;
+    //generator of a new game without guessing, it tells whether it found such a playing field
+    NoGuessGenerator noGuessGenerator;
+    //playing fields generated in advance for new games, null for saved games
+    BoardPool boardPool;
     boolean game_saved;
     boolean landscape;
 
@@ -119,6 +137,7 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
         setContentView(R.layout.activity_play);
 
         sharedPreferences = PreferenceManager.getDefaultSharedPreferences(this);
+        database = PFMDatabaseManager.getInstance(this);
 
         numberOfColumns = 0;
         numberOfRows = 0;
@@ -137,29 +156,27 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
         //get the game mode and playingfield size
         if (savecheck){
             ArrayList<String> savedInfo = parameter.getStringArrayList("information");
-            int id = Integer.valueOf(savedInfo.get(0));
+            savedGameId = Integer.valueOf(savedInfo.get(0));
             String savedGameMode = savedInfo.get(1);
             String time = savedInfo.get(2);
-            savedContent = savedInfo.get(5);
-            savedStatus = savedInfo.get(6);
 
             if (savedGameMode.equalsIgnoreCase("easy")) {
                 game_mode = "easy";
-                parameter.putShortArray("info", new short[]{(short)6, (short)10, (short)7});
+                parameter.putIntArray("info", new int[]{6, 10, 7});
                 parameter.putBoolean("continue", false);
                 numberOfColumns = 6;
                 numberOfRows = 10;
                 numberOfBombs = 7;
             } else if (savedGameMode.equalsIgnoreCase("medium")) {
                 game_mode = "medium";
-                parameter.putShortArray("info", new short[]{(short)10, (short)16, (short)24});
+                parameter.putIntArray("info", new int[]{10, 16, 24});
                 parameter.putBoolean("continue", false);
                 numberOfColumns = 10;
                 numberOfRows = 16;
                 numberOfBombs = 24;
             } else {
                 game_mode = "difficult";
-                parameter.putShortArray("info", new short[]{(short)12, (short)19, (short)46});
+                parameter.putIntArray("info", new int[]{12, 19, 46});
                 parameter.putBoolean("continue", false);
                 numberOfColumns = 12;
                 numberOfRows = 19;
@@ -171,13 +188,11 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
             int minutes = Integer.parseInt(units[0]);
             int seconds = Integer.parseInt(units[1]);
             totalSavedSeconds = 60 * minutes + seconds;
-
-            DatabaseSavedGameProvide provider = new DatabaseSavedGameProvide(new PFMSQLiteHelper(getApplicationContext()));
-            provider.execute(id);
         }
         //get game mode and PlayingField size if this is not loading a saved game
         else {
-            short[] test = parameter.getShortArray("info");
+            noGuess = parameter.getBoolean("noguess");
+            int[] test = parameter.getIntArray("info");
             numberOfColumns = test[0];
             numberOfRows = test[1];
             numberOfBombs = test[2];
@@ -219,22 +234,26 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
 
         //Creating the right sized the PlayingField
         numberOfCells = numberOfRows * numberOfColumns;
-        data = new int[numberOfCells];
-        countDownToWin = numberOfCells;
-
-        //status saves the state of the cell
-        //0 = normal, 1 = revealed, 2 = marked
-        status = new int[numberOfCells];
-        for (int i = 0; i < numberOfCells; i++) {
-            status[i] = 0;
-        }
+        engine = null;
 
         //check if there is a saved instance state
+        //a saved game that was still being loaded is loaded again, it is still in the database
+        if (param != null && param.getBoolean("loading")) {
+            param = null;
+        }
+        //a game whose file can not be read is started again with an empty playing field
+        byte[] instanceStateGame = param != null ? readInstanceStateGame(param) : null;
+        if (instanceStateGame == null) {
+            param = null;
+        }
         if (param != null) {
             numberOfRows = param.getInt("rows");
             numberOfColumns = param.getInt("columns");
-            data = param.getIntArray("data");
-            status = param.getIntArray("status");
+            engine = SavedGameCodec.decodeGame(instanceStateGame, numberOfBombs);
+            //the generator is not saved, a game without mines is created again below
+            if (noGuess && !engine.isMinesPlaced()) {
+                engine = null;
+            }
             totalSavedSeconds = param.getInt("time");
             boolean noinfo = param.getBoolean("empty");
             gameEnded = param.getBoolean("gameended");
@@ -245,123 +264,60 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
                 savecheck = true;
                 savedinstancestate = true;
             }
-            if (numberOfRows < numberOfColumns) {
-                int save = numberOfColumns;
-                numberOfColumns = numberOfRows;
-                numberOfRows = save;
-            }
         }
 
-        //parce the Content and Status String if this is loading a saved game
-        if (savecheck) {
-            if (!savedinstancestate) {
-                String[] parcedContent = savedContent.split("");
-                String[] parcedStatus = savedStatus.split("");
-
-                StringBuilder line = new StringBuilder();
-                for (int i = 0; i < numberOfCells; i++) {
-                    line.append(parcedContent[i + 1]);
-                    data[i] = Integer.parseInt(parcedContent[i + 1]);
-                    status[i] = Integer.parseInt(parcedStatus[i + 1]);
-                }
-            }
-            //flip the info if we are in landscape mode
-            if(landscape){
-                landscape_data = new int[data.length];
-                int x = 1;
-                int start = numberOfCells - numberOfColumns;
-                int now = start;
-                for (int i = 0; i < data.length; i++) {
-                    landscape_data[i] = data[now];
-                    now = now - numberOfColumns;
-                    if(now < 0) {
-                        now = start + x;
-                        x++;
-                    }
-                }
-                not_in_use_data = data;
-                data = landscape_data;
-
-                x = 1;
-                start = numberOfCells - numberOfColumns;
-                landscape_status = new int[status.length];
-                now = start;
-                for (int i = 0; i < status.length; i++) {
-                    landscape_status[i] = status[now];
-                    now = now - numberOfColumns;
-                    if(now < 0) {
-                        now = start + x;
-                        x++;
-                    }
-                }
-                not_in_use_status = status;
-                status = landscape_status;
-            }
-        }
-
-        // set up the RecyclerView
-        final View heightTest = findViewById(R.id.height_test);
-        recyclerView = (RecyclerView) findViewById(R.id.playingfield);
-
-        //uses heightTest to measure the height of the usable screen when it is first drawn
-        heightTest.setVisibility(View.VISIBLE);
-        firstTime = true;
-
-        //after the first drawing we use the measured height to calculate the maximum height of every cell in the grid
-        heightTest.post(new Runnable() {
-            @Override
-            public void run() {
-                //subtract the height of the play_sidebar
-                int height;
-                if(getResources().getConfiguration().orientation == Configuration.ORIENTATION_LANDSCAPE){
-                    height = recyclerView.getHeight();
-                    desired_width = recyclerView.getWidth() - Math.round(25*(getResources().getDisplayMetrics().xdpi/ DisplayMetrics.DENSITY_DEFAULT));
-                } else {
-                    height = recyclerView.getHeight()- Math.round(32*(getResources().getDisplayMetrics().xdpi/ DisplayMetrics.DENSITY_DEFAULT));
-                    desired_width = recyclerView.getWidth();
-                }
-                //set height of recyclerView so it does not overlap the play_sidebar
-                ViewGroup.LayoutParams params = recyclerView.getLayoutParams();
-                params.height = height;
-                params.width = desired_width;
-                maxHeight = height/numberOfRows;
-                //cells have a buffer of 2dp, so substract 1dp*2 transformed into pixel value
-                maxHeight = maxHeight - Math.round(2*(getResources().getDisplayMetrics().xdpi/ DisplayMetrics.DENSITY_DEFAULT));
-
-                if (firstTime) {
-                    firstTime=false;
-                    createAdapter(maxHeight);
-                    //after heightTest is made invisible the grid is redrawn, this time with the correct maxheight
-                    heightTest.setVisibility(View.GONE);
-                }
-
-                recyclerView.postDelayed(new Runnable()
-                {
-                    @Override
-                    public void run()
-                    {
-                        if(recyclerView.findViewHolderForAdapterPosition(0)!=null )
-                        {
-                            //loading saved game
-                            if (savecheck) {
-                                fillSavedGame(savedContent, savedStatus);
-                            }
-                        }
-                    }
-                },50);
-
-            }
-        });
-
-        //fistLaunch
-        if(getResources().getConfiguration().orientation == Configuration.ORIENTATION_LANDSCAPE){
-            int save = numberOfColumns;
-            numberOfColumns = numberOfRows;
-            numberOfRows = save;
-        }
-        recyclerView.setLayoutManager(new GridLayoutManager(this, numberOfColumns, LinearLayoutManager.VERTICAL, false));
-
-        createAdapter(maxHeight);
+        //a saved game is read from the database in background, until then the playing field stays empty
+        //the rules of the game are handled by the engine
+        //the mines of a new game are placed with a seed, so the game can be saved as seed and moves
+        //the board always has its portrait orientation, in landscape mode it is only shown rotated
+        //playing fields without guessing are saved as playing fields, the placement of their mines is not repeatable by seed
+        //the mines of very large playing fields are placed on all cores, these are saved as playing fields as well
+        //playing fields without guessing that are not taken from the pool are searched only for a few frames on the first click,
+        //afterwards the mines are placed like without the option
+        if (engine == null && noGuess) {
+            noGuessGenerator = new NoGuessGenerator(new Random(), Runtime.getRuntime().availableProcessors(),
+                    NoGuessGenerator.CLICK_TIME_BUDGET_MILLIS);
+            engine = new GameEngine(new Board(numberOfColumns, numberOfRows), numberOfBombs, noGuessGenerator);
+        } else if (engine == null && numberOfCells >= ParallelBoardGenerator.MIN_PARALLEL_CELLS) {
+            engine = new GameEngine(new Board(numberOfColumns, numberOfRows), numberOfBombs, new ParallelBoardGenerator(new Random()));
+        } else if (engine == null) {
+            engine = new GameEngine(new Board(numberOfColumns, numberOfRows), numberOfBombs, new Random().nextLong());
+        }
+        if (!savecheck && !engine.isMinesPlaced()) {
+            boardPool = BoardPoolManager.getInstance().getPool(numberOfColumns, numberOfRows, numberOfBombs, noGuess);
+            if (boardPool != null) {
+                boardPool.fill();
+            }
+        }
+
+        //the playing field is drawn by one view from the snapshots of the engine
+        //large playing fields are drawn on a render thread, so revealing big areas does not block the input
+        View boardView = findViewById(R.id.playingfield);
+        if (numberOfCells >= RENDER_THREAD_MIN_CELLS) {
+            BoardSurfaceView surfaceView = new BoardSurfaceView(this);
+            ViewGroup parent = (ViewGroup) boardView.getParent();
+            int index = parent.indexOfChild(boardView);
+            parent.removeView(boardView);
+            parent.addView(surfaceView, index, boardView.getLayoutParams());
+            boardView = surfaceView;
+        }
+        playingField = (PlayingField) boardView;
+
+        //the journal is written from the first move on (no saving of user defined mode)
+        //the file is named after the start of the game and kept when the activity is created again
+        //the journal is written by the executor of the database, so the writer of the saved game deletes it after all writes
+        if (!game_mode.equals("user-defined")) {
+            String journalName = param != null ? param.getString("journal") : null;
+            if (journalName == null) {
+                journalName = System.currentTimeMillis() + JOURNAL_SUFFIX;
+            }
+            File journalDirectory = new File(getFilesDir(), JOURNAL_DIRECTORY);
+            journalDirectory.mkdirs();
+            journalFile = new File(journalDirectory, journalName);
+            journal = new GameJournal(journalFile, game_mode, database.getExecutor());
+        }
+        playingField.setEngine(engine, new BoardOrientation(numberOfColumns, numberOfRows, landscape));
+        playingField.setOnCellClickListener(this);
 
         firstClick = true;
 
@@ -427,430 +383,130 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
             });
         }
 
-        revealingAround = false;
-        bombsLeft = numberOfBombs;
         mines = (TextView) toolbar.findViewById(R.id.mines);
-        mines.setText(String.valueOf(bombsLeft));
+        mines.setText(String.valueOf(engine.getBombsLeft()));
+
+        //loading saved game
+        if (savecheck) {
+            if (savedinstancestate) {
+                fillSavedGame();
+            } else {
+                loadingSavedGame = true;
+                DatabaseSavedGameProvide provider = new DatabaseSavedGameProvide(database.getHelper(), this);
+                provider.executeOnExecutor(database.getExecutor(), savedGameId);
+            }
+        }
 
         ImageView mines_pic = (ImageView) toolbar.findViewById(R.id.mines_pic);
         mines_pic.setImageResource(R.drawable.mine);
 
         handler = new Handler();
 
-        bestTimeReader = new DatabaseBestTimeReader(new PFMSQLiteHelper(getApplicationContext()), this);
-        bestTimeReader.execute(game_mode);
-        writer = new DatabaseWriter(new PFMSQLiteHelper(getApplicationContext()));
+        bestTimeReader = new DatabaseBestTimeReader(database.getHelper(), this);
+        bestTimeReader.executeOnExecutor(database.getExecutor(), game_mode);
+        writer = new DatabaseWriter(database.getHelper());
     }
 
     /**
-     * This method creates a new PlayRecyclerViewAdapter with the given parameters and connects it to the RecyclerView with the Playing Field
-     * @param maximumHeight the maximum height of the singe Cells of the Playing Field
+     * This method receives the saved game from the database and puts its playing field into the engine
+     * @param savedGame the data set of the saved game
      */
-    private void createAdapter(int maximumHeight) {
-        adapter = new PlayRecyclerViewAdapter(this, data, maxHeight);
-        adapter.setClickListener(this);
-        recyclerView.setAdapter(adapter);
-    }
-
-    /**
-     * This method fills the playing Field with data. First it puts the needed amount of bombs in random Cells, then Calculates the Number of Neighboring Bomb for each Cell
-     * @param notHere the position of the Cell where the user clicked first. This one can not have a Bomb in it
-     */
-    private void fillPlayingField(int notHere){
-
-        //put bombs at random positions
-        for (int i = 0; i < numberOfBombs; i++) {
-            int position;
-            Random randomGen = new Random();
-            position = randomGen.nextInt(numberOfCells);
+    @Override
+    public void loadSavedGame(PFMSavedGameDataType savedGame) {
+        //an activity that is left or created again keeps the saved game in the database
+        if (isFinishing() || isChangingConfigurations()) {
+            return;
+        }
 
-            //redo if the first clicked cell would get a bomb
-            if(position == notHere) {
-                i--;
-            }
-            //9 equals a bomb
-            //redo random position if there is a bomb already
-            else if (data[position] == 9) {
-                i--;
-            }
-            //redo if placing a bomb at position would produce a cluster of bombs
-            //4 or more horizontally and vertically neighbouring bombs are considered to be a cluster
-            //possible arrangements that are prevented:
-            //1) XX  2) XX   3) XXXX  4) XXX  5) XXX
-            //   XX      XX              X        X
-            else if(numberOfNeighbouringBombs(position, 0, position, new ArrayList<Integer>()) >= 3){
-                i--;
-            }
-            else {
-                data[position] = 9;
-            }
+        GameEngine savedEngine;
+        try {
+            if (savedGame == null) {
+                throw new IllegalArgumentException("Saved game " + savedGameId + " does not exist");
+            } else if (savedGame.getSAVED_GAME_DATA() != null) {
+                savedEngine = SavedGameCodec.decodeGame(savedGame.getSAVED_GAME_DATA(), numberOfBombs);
+            } else if (savedGame.getSAVED_GAME_CONTENT() == null || savedGame.getSAVED_GAME_STATUS() == null) {
+                throw new IllegalArgumentException("Saved game " + savedGameId + " has no playing field");
+            } else {
+                savedEngine = new GameEngine(parseLegacySavedGame(savedGame.getSAVED_GAME_CONTENT(), savedGame.getSAVED_GAME_STATUS()), numberOfBombs);
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            //a saved game that can not be read is removed, it would fail again next time
+            Log.d("IllegalArgumentException", e.getMessage() + "  \n" + e.getCause());
+            new DatabaseSavedGameDeleter(database.getHelper()).executeOnExecutor(database.getExecutor(), savedGameId);
+            Toast.makeText(getApplicationContext(), getResources().getString(R.string.savedGameCorrupt), Toast.LENGTH_LONG).show();
+            finish();
+            return;
         }
 
-        //Fill the playing field with numbers depending on bomb position
-        for (int pos= 0; pos < numberOfCells; pos++) {
+        //the saved game is continued now, it is saved again when the activity is left
+        new DatabaseSavedGameDeleter(database.getHelper()).executeOnExecutor(database.getExecutor(), savedGameId);
+        engine = savedEngine;
+        playingField.setEngine(engine, new BoardOrientation(numberOfColumns, numberOfRows, landscape));
+        loadingSavedGame = false;
 
-            if (data[pos] != 9) {
-                data[pos] = 0;
-                //check if position is in one corner of the Field
-                //bottom left
-                if (pos == 0) {
-                    if (data[pos + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                }
-                //bottom right
-                else if (pos == (numberOfColumns - 1)) {
-                    if (data[pos - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                }
-                //top left
-                else if (pos == (numberOfCells - numberOfColumns)) {
-                    if (data[pos + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                }
-                //top right
-                else if (pos == numberOfCells - 1) {
-                    if (data[pos - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                }
-                //bottom row
-                else if (pos < numberOfColumns) {
-                    if (data[pos - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                }
-                //top row
-                else if (pos > numberOfCells - numberOfColumns) {
-                    if (data[pos - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                }
-                //left column
-                else if (pos % numberOfColumns == 0) {
-                    if (data[pos + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                }
-                //right column
-                else if (pos % numberOfColumns == (numberOfColumns - 1)) {
-                    if (data[pos - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                }
-                //the rest (inner cells)
-                else {
-                    if (data[pos - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos + numberOfColumns - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns + 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                    if (data[pos - numberOfColumns - 1] == 9) {
-                        data[pos] = data[pos] + 1;
-                    }
-                }
-            }
-        }
+        fillSavedGame();
     }
 
     /**
-     * This method fills the playing Field with the data from the saved game and alters the PlayingField until it is in the same state as the Saved Game and ready to be continued
+     * This method reads a game saved by an older version, which stored one digit per cell in two strings
      * @param savedContent A String coding the Content of each Cell (if there is a Bomb there and how many neighboring Bombs)
      * @param savedStatus A string coding the status of each Cell (if it is untouched, revealed or marked)
+     * @return the playing field of the saved game
      */
-    public void fillSavedGame(String savedContent, String savedStatus){
-
-        //Parce the Stings
-      //  String[] parcedContent = savedContent.split("");
-      //  String[] parcedStatus = savedStatus.split("");
-
-        //Fill the Playing Field by going through Cell by Cell, filling it with the saved content and setting it to the appropriate status
+    private Board parseLegacySavedGame(String savedContent, String savedStatus) {
+        Board board = new Board(numberOfColumns, numberOfRows);
         for (int i = 0; i < numberOfCells; i++) {
-         //   data[i] = Integer.parseInt(parcedContent[i+1]);
-         //   status[i] = Integer.parseInt(parcedStatus[i+1]);
-
-            RecyclerView.ViewHolder holder = recyclerView.findViewHolderForAdapterPosition(i);
-            CellView cell = (CellView) holder.itemView.findViewById(R.id.cell);
-
-            if (status[i] == 1) {
-                switch (data[i]) {
-                    case 0:
-                        cell.setText("");
-                        break;
-                    case 1:
-                        cell.setText(String.valueOf(data[i]));
-                        cell.setTextColor(getResources().getColor(R.color.darkblue));
-                        break;
-                    case 2:
-                        cell.setText(String.valueOf(data[i]));
-                        cell.setTextColor(getResources().getColor(R.color.darkgreen));
-                        break;
-                    case 3:
-                        cell.setText(String.valueOf(data[i]));
-                        cell.setTextColor(getResources().getColor(R.color.red));
-                        break;
-                    case 4:
-                        cell.setText(String.valueOf(data[i]));
-                        cell.setTextColor(getResources().getColor(R.color.darkblue));
-                        break;
-                    case 5:
-                        cell.setText(String.valueOf(data[i]));
-                        cell.setTextColor(getResources().getColor(R.color.brown));
-                        break;
-                    case 6:
-                        cell.setText(String.valueOf(data[i]));
-                        cell.setTextColor(getResources().getColor(R.color.cyan));
-                        break;
-                    case 7:
-                        cell.setText(String.valueOf(data[i]));
-                        cell.setTextColor(getResources().getColor(R.color.black));
-                        break;
-                    case 8:
-                        cell.setText(String.valueOf(data[i]));
-                        cell.setTextColor(getResources().getColor(R.color.black));
-                        break;
-                }
-
-                cell.setBackgroundColor(ResourcesCompat.getColor(getResources(), R.color.middleblue, null));
-
-                countDownToWin--;
-            } else if (status[i] == 2) {
-                SpannableStringBuilder builder = new SpannableStringBuilder();
-                Drawable img = getDrawable(R.drawable.flagge);
-                img.setBounds(0, 0, img.getIntrinsicWidth() * cell.getMeasuredHeight() / img.getIntrinsicHeight(), cell.getMeasuredHeight());
-                cell.setCompoundDrawables(img,null,null,null);
-                bombsLeft--;
-                countDownToWin--;
-                mines.setText(String.valueOf(bombsLeft));
+            if (savedContent.charAt(i) - '0' == Board.MINE) {
+                board.setMine(i);
             }
+            board.setStatus(i, savedStatus.charAt(i) - '0');
         }
-
-        timer = (Chronometer) toolbar.findViewById(R.id.chronometer);
-        timer.setBase(SystemClock.elapsedRealtime() - (totalSavedSeconds*1000));
-
-        firstClick = true;
-
+        board.fillNumbers();
+        return board;
     }
 
     /**
-     * This method counts the number of horizontally and vertically neighbouring bombs of a cell
-     * @param position position of the cell on the playing field
-     * @param counterBombs variable to count number of bombs (recursively)
-     * @param rootPosition position / cell that invokes the method (mustn't considered as neighbour)
-     * @param checkedNeighbours all checked neighbours are stored to ensure that they are not counted twice
-     * @return number of (recursively) neighbouring bombs of the cell at position
+     * This method sets the toolbar and the timer, so the saved game is ready to be continued
      */
-    private int numberOfNeighbouringBombs(int position, int counterBombs, int rootPosition, ArrayList<Integer> checkedNeighbours){
+    public void fillSavedGame(){
 
-        //increase counter if there is a bomb on the cell at position and store the position
-        if(data[position] == 9){
-            checkedNeighbours.add(position);
-            counterBombs++;
-        }
+        //the playing field is already in the engine and drawn by the playing field, so only the toolbar has to be set
+        mines.setText(String.valueOf(engine.getBombsLeft()));
+
+        timer = (Chronometer) toolbar.findViewById(R.id.chronometer);
+        timer.setBase(SystemClock.elapsedRealtime() - (totalSavedSeconds*1000));
+
+        firstClick = true;
 
-        //bottom left
-        if(position == 0){
-            if ((data[position + 1] == 9) && ((position + 1) != rootPosition) && (!checkedNeighbours.contains(position + 1))) {
-                counterBombs += numberOfNeighbouringBombs(position + 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position + numberOfColumns] == 9) && ((position + numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position + numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position + numberOfColumns, 0, position, checkedNeighbours);
-            }
-        }
-        //bottom right
-        else if(position == (numberOfColumns - 1)){
-            if ((data[position - 1] == 9) && ((position - 1) != rootPosition) && (!checkedNeighbours.contains(position - 1))) {
-                counterBombs += numberOfNeighbouringBombs(position - 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position + numberOfColumns] == 9) && ((position + numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position + numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position + numberOfColumns, 0, position, checkedNeighbours);
-            }
-        }
-        //top left
-        else if(position == (numberOfCells - numberOfColumns)){
-            if ((data[position + 1] == 9) && ((position + 1) != rootPosition) && (!checkedNeighbours.contains(position + 1))) {
-                counterBombs += numberOfNeighbouringBombs(position + 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position - numberOfColumns] == 9) && ((position - numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position - numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position - numberOfColumns, 0, position, checkedNeighbours);
-            }
-        }
-        //top right
-        else if(position == (numberOfCells - 1)){
-            if ((data[position - 1] == 9) && ((position - 1) != rootPosition) && (!checkedNeighbours.contains(position - 1))) {
-                counterBombs += numberOfNeighbouringBombs(position - 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position - numberOfColumns] == 9) && ((position - numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position - numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position - numberOfColumns, 0, position, checkedNeighbours);
-            }
-        }
-        //bottom row
-        else if(position < numberOfColumns){
-            if ((data[position - 1] == 9) && ((position - 1) != rootPosition) && (!checkedNeighbours.contains(position - 1))) {
-                counterBombs += numberOfNeighbouringBombs(position - 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position + 1] == 9) && ((position + 1) != rootPosition) && (!checkedNeighbours.contains(position + 1))) {
-                counterBombs += numberOfNeighbouringBombs(position + 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position + numberOfColumns] == 9) && ((position + numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position + numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position + numberOfColumns, 0, position, checkedNeighbours);
-            }
-        }
-        //top row
-        else if(position > (numberOfCells - numberOfColumns)){
-            if ((data[position - 1] == 9) && ((position - 1) != rootPosition) && (!checkedNeighbours.contains(position - 1))) {
-                counterBombs += numberOfNeighbouringBombs(position - 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position + 1] == 9) && ((position + 1) != rootPosition) && (!checkedNeighbours.contains(position + 1))) {
-                counterBombs += numberOfNeighbouringBombs(position + 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position - numberOfColumns] == 9) && ((position - numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position - numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position - numberOfColumns, 0, position, checkedNeighbours);
-            }
-        }
-        //left column
-        else if((position % numberOfColumns) == 0){
-            if ((data[position + 1] == 9) && ((position + 1) != rootPosition) && (!checkedNeighbours.contains(position + 1))) {
-                counterBombs += numberOfNeighbouringBombs(position + 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position + numberOfColumns] == 9) && ((position + numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position + numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position + numberOfColumns, 0, position, checkedNeighbours);
-            }
-            if ((data[position - numberOfColumns] == 9) && ((position - numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position - numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position - numberOfColumns, 0, position, checkedNeighbours);
-            }
-        }
-        //right column
-        else if((position % numberOfColumns) == (numberOfColumns - 1)){
-            if ((data[position - 1] == 9) && ((position - 1) != rootPosition) && (!checkedNeighbours.contains(position - 1))) {
-                counterBombs += numberOfNeighbouringBombs(position - 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position + numberOfColumns] == 9) && ((position + numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position + numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position + numberOfColumns, 0, position, checkedNeighbours);
-            }
-            if ((data[position - numberOfColumns] == 9) && ((position - numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position - numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position - numberOfColumns, 0, position, checkedNeighbours);
-            }
-        }
-        //inner cells
-        else{
-            if ((data[position - 1] == 9) && ((position - 1) != rootPosition) && (!checkedNeighbours.contains(position - 1))) {
-                counterBombs += numberOfNeighbouringBombs(position - 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position + 1] == 9) && ((position + 1) != rootPosition) && (!checkedNeighbours.contains(position + 1))) {
-                counterBombs += numberOfNeighbouringBombs(position + 1, 0, position, checkedNeighbours);
-            }
-            if ((data[position + numberOfColumns] == 9) && ((position + numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position + numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position + numberOfColumns, 0, position, checkedNeighbours);
-            }
-            if ((data[position - numberOfColumns] == 9) && ((position - numberOfColumns) != rootPosition) && (!checkedNeighbours.contains(position - numberOfColumns))) {
-                counterBombs += numberOfNeighbouringBombs(position - numberOfColumns, 0, position, checkedNeighbours);
-            }
-        }
-        return counterBombs;
     }
 
     /**
-     * This method overrides the onItemClick of the Playing Field cells.
-     * @param view the View Containing the Cell where the event was triggered
+     * This method handles clicks on the cells of the Playing Field.
      * @param position the position of the Cell that was clicked
      */
     @Override
-    public void onItemClick(View view, int position) {
+    public void onCellClick(int position) {
+        //clicks after victory or defeat and while a saved game is loaded are ignored
+        if (gameEnded || loadingSavedGame) {
+            return;
+        }
+
         //on the first click the timer must be started and the PlayingField must be filled
         if (firstClick) {
             if (!savecheck) {
-                fillPlayingField(position);
+                //a playing field from the pool is taken if one opens at position, otherwise the mines are placed now
+                Board pregenerated = boardPool != null ? boardPool.take(position) : null;
+                if (pregenerated != null) {
+                    engine.placeMines(position, pregenerated);
+                } else {
+                    engine.placeMines(position);
+                    if (noGuessGenerator != null && !noGuessGenerator.isLastPlacementSolvable()) {
+                        Toast.makeText(this, getResources().getString(R.string.no_guess_not_found), Toast.LENGTH_LONG).show();
+                    }
+                }
+                if (boardPool != null) {
+                    boardPool.fill();
+                }
                 firstClick = false;
                 gameEnded = false;
 
@@ -858,6 +514,10 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
                 timer.setBase(SystemClock.elapsedRealtime());
                 timer.start();
             } else {
+                //a game can be saved before its first click
+                if (!engine.isMinesPlaced()) {
+                    engine.placeMines(position);
+                }
                 firstClick = false;
                 timer = (Chronometer) toolbar.findViewById(R.id.chronometer);
                 timer.setBase(SystemClock.elapsedRealtime() - (totalSavedSeconds*1000));
@@ -865,397 +525,104 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
             }
         }
 
-        LinearLayout cellview = (LinearLayout) view;
-        CellView cell = (CellView) cellview.getChildAt(0);
+        CellList changedCells;
+        int move;
 
         //check if cell is already revealed and has the right amount of mines marked
-         if (status[position] == 1) {
-             revealingAround = true;
-             revealAroundCell(position, true);
-             revealingAround = false;
-         } else
+        if (engine.getBoard().getStatus(position) == Board.REVEALED) {
+            changedCells = engine.revealAround(position);
+            move = MoveLog.REVEAL_AROUND;
+        }
         //check if we are in marking mode
-        if (marking) {
-            //only if the cell is not revealed
-            if (status[position] != 1) {
-                //check if already marked
-                if (status[position] == 2) {
-                    countDownToWin++;
-                    status[position] = 0;
-                    cell.setCompoundDrawablesWithIntrinsicBounds(0, 0, 0, 0);
-
-                    bombsLeft++;
-                    mines.setText(String.valueOf(bombsLeft));
-                } else {
-                    status[position] = 2;
-                    SpannableStringBuilder builder = new SpannableStringBuilder();
-                    Drawable img = getDrawable(R.drawable.flagge);
-                    img.setBounds(0, 0, img.getIntrinsicWidth() * cell.getMeasuredHeight() / img.getIntrinsicHeight(), cell.getMeasuredHeight());
-                    cell.setCompoundDrawables(img,null,null,null);
-
-                    bombsLeft--;
-                    countDownToWin--;
-                    mines.setText(String.valueOf(bombsLeft));
-                    victoryCheck();
-                }
-            }
+        else if (marking) {
+            changedCells = engine.toggleMark(position);
+            move = MoveLog.TOGGLE_MARK;
         }
         //normal revealing of the cell
         else {
-             revealCell(position);
+            changedCells = engine.reveal(position);
+            move = MoveLog.REVEAL;
         }
-    }
 
-    /**
-     * This method has two functions. Firstly it checks if the right amount of Bombs is marked around a revealed and clicked cell.
-     * Secondly it reveals every Cell that is not marked next to the given Position.
-     * @param position position of the cell on the playing field around witch we want to operate
-     * @param revealed if true we check if there is the right Amount of Bombs marked next to the revealed Cell at position,
-     *                 if false we reaveal all Cells in a Circle around position
-     */
-    private void revealAroundCell(int position, boolean revealed) {
-
-        //if revealed is true then
-        if (revealed) {
-            //check if the right amount of mines is tagged
-            int taggedCells = 0;
-
-            //check if position is in one corner of the Field
-            //bottom left
-            if (position == 0) {
-                if (status[position + 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns + 1] == 2) {
-                    taggedCells++;
-                }
-            }
-            //bottom right
-            else if (position == (numberOfColumns - 1)) {
-                if (status[position - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns - 1] == 2) {
-                    taggedCells++;
-                }
-            }
-            //top left
-            else if (position == (numberOfCells - numberOfColumns)) {
-                if (status[position + 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns + 1] == 2) {
-                    taggedCells++;
-                }
-            }
-            //top right
-            else if (position == numberOfCells - 1) {
-                if (status[position - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns - 1] == 2) {
-                    taggedCells++;
-                }
-            }
-            //bottom row
-            else if (position < numberOfColumns) {
-                if (status[position + 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns + 1] == 2) {
-                    taggedCells++;
-                }
-            }
-            //top row
-            else if (position > numberOfCells - numberOfColumns) {
-                if (status[position + 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns + 1] == 2) {
-                    taggedCells++;
-                }
-            }
-            //left column
-            else if (position % numberOfColumns == 0) {
-                if (status[position + 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns + 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns + 1] == 2) {
-                    taggedCells++;
-                }
-            }
-            //right column
-            else if (position % numberOfColumns == (numberOfColumns - 1)) {
-                if (status[position - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns - 1] == 2) {
-                    taggedCells++;
-                }
-            }
-            //the rest (inner cells)
-            else {
-                if (status[position - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position + numberOfColumns + 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns - 1] == 2) {
-                    taggedCells++;
-                }
-                if (status[position - numberOfColumns + 1] == 2) {
-                    taggedCells++;
-                }
-            }
-            if (taggedCells == data[position]) {
-                revealAroundCell(position, false);
+        playingField.invalidateCells(changedCells);
+        mines.setText(String.valueOf(engine.getBombsLeft()));
+
+        //a finished game is not saved, so it needs no journal
+        if (engine.isGameEnded()) {
+            if (journal != null) {
+                journal.delete();
+                journal = null;
             }
+        } else if (!changedCells.isEmpty()) {
+            writeJournal(move, position);
         }
-        //revealing around the cell because the cell has 0 mines adjacent (or the right amount of marks)
-        else {
-            //check position of the cell
-            //bottom left
-            if (position == 0) {
-                revealCell(position + 1);
-                revealCell(position + numberOfColumns);
-                revealCell(position + numberOfColumns + 1);
-            }
-            //bottom right
-            else if (position == (numberOfColumns - 1)) {
-                revealCell(position - 1);
-                revealCell(position + numberOfColumns);
-                revealCell(position + numberOfColumns - 1);
-            }
-            //top left
-            else if (position == (numberOfCells - numberOfColumns)) {
-                revealCell(position + 1);
-                revealCell(position - numberOfColumns);
-                revealCell(position - numberOfColumns + 1);
-            }
-            //top right
-            else if (position == numberOfCells - 1) {
-                revealCell(position - 1);
-                revealCell(position - numberOfColumns);
-                revealCell(position - numberOfColumns - 1);
-            }
-            //bottom row
-            else if (position < numberOfColumns) {
-                revealCell(position + 1);
-                revealCell(position - 1);
-                revealCell(position + numberOfColumns);
-                revealCell(position + numberOfColumns + 1);
-                revealCell(position + numberOfColumns - 1);
-            }
-            //top row
-            else if (position > numberOfCells - numberOfColumns) {
-                revealCell(position + 1);
-                revealCell(position - 1);
-                revealCell(position - numberOfColumns);
-                revealCell(position - numberOfColumns + 1);
-                revealCell(position - numberOfColumns - 1);
-            }
-            //left column
-            else if (position % numberOfColumns == 0) {
-                revealCell(position + 1);
-                revealCell(position + numberOfColumns);
-                revealCell(position + numberOfColumns + 1);
-                revealCell(position - numberOfColumns);
-                revealCell(position - numberOfColumns + 1);
-            }
-            //right column
-            else if (position % numberOfColumns == (numberOfColumns - 1)) {
-                revealCell(position - 1);
-                revealCell(position + numberOfColumns);
-                revealCell(position + numberOfColumns - 1);
-                revealCell(position - numberOfColumns);
-                revealCell(position - numberOfColumns - 1);
-            }
-            //the rest (inner cells)
-            else {
-                revealCell(position + 1);
-                revealCell(position - 1);
-                revealCell(position + numberOfColumns);
-                revealCell(position + numberOfColumns + 1);
-                revealCell(position + numberOfColumns - 1);
-                revealCell(position - numberOfColumns);
-                revealCell(position - numberOfColumns + 1);
-                revealCell(position - numberOfColumns - 1);
-            }
+
+        if (engine.isLost()) {
+            gameLost();
+        } else {
+            victoryCheck();
         }
     }
 
     /**
-     * This method handles the revealing of a Cell at a specific position
-     * @param position position of the cell on the playing field
+     * This method writes a move to the journal of the game, the first move starts the journal with a checkpoint
+     * Every move costs one small write, so the game survives a killed process without saving the whole playing field
+     * @param move kind of the move (MoveLog.REVEAL, MoveLog.TOGGLE_MARK or MoveLog.REVEAL_AROUND)
+     * @param position position of the Cell the move was made on
      */
-    private void revealCell(int position) {
-
-        //if another cell reveal already lost the game this Method doesnt do anything
-        if (gameEnded) {
+    private void writeJournal(int move, int position) {
+        if (journal == null) {
             return;
         }
-        RecyclerView.ViewHolder holder = recyclerView.findViewHolderForAdapterPosition(position);
-        final CellView cell = (CellView) holder.itemView.findViewWithTag(maxHeight);
 
-        //only reveal if the cell is not marked or revealed
-        if (status[position] == 0) {
-            //check for gameloss
-            if (data[position] == 9) {
+        //a move that can not be written is followed by a checkpoint, the game is still saved in onStop
+        int seconds = (int) ((SystemClock.elapsedRealtime() - timer.getBase()) / 1000);
+        if (!journal.isStarted()) {
+            journal.start(engine, seconds);
+        } else {
+            journal.append(move, position, seconds);
+        }
+    }
 
-                Drawable img = getDrawable(R.drawable.mine_x);
-                img.setBounds(0, 0, img.getIntrinsicWidth() * cell.getMeasuredHeight() / img.getIntrinsicHeight(), cell.getMeasuredHeight());
-                cell.setCompoundDrawables(img,null,null,null);
+    /**
+     * This method handles the defeat after a mine was revealed
+     */
+    private void gameLost() {
+        timer.stop();
 
-                timer.stop();
+        long gametimeInMillis = SystemClock.elapsedRealtime() - timer.getBase();
+        long gametime = gametimeInMillis / 1000;
+        int time = (int) gametime;
 
-                long gametimeInMillis = SystemClock.elapsedRealtime() - timer.getBase();
-                long gametime = gametimeInMillis / 1000;
-                int time = (int) gametime;
-
-                parameter.putBoolean("victory", false);
-                parameter.putInt("time", time);
-                parameter.putString("gameMode", game_mode);
-                parameter.putBoolean("newBestTime", newBestTime);
-
-                gameEnded = true;
-
-                lockActivityOrientation();
-                final Intent tempI = new Intent(this, VictoryScreen.class);
-                tempI.putExtras(parameter);
-                handler.postDelayed(new Runnable(){
-                    @Override
-                    public void run(){
-                        startActivityForResult(tempI, 0);
-                    }
-                }, 200);
-
-
-                //update general statistics (not for user-defined game mode)
-                if(!game_mode.equals("user-defined")){
-                    //first parameter: game mode
-                    //second parameter: 1 as one match was played
-                    //third parameter: 1 if game was won, 0 if game was lost
-                    //fourth parameter: number of uncovered fields
-                    //fifth parameter: playing time in seconds (for won games only)
-                    //sixth parameter: playing time in seconds
-                    //seventh parameter: actual date and time, here 'lost' to indicate that lost game isn't saved in top times list
-                    Object[] result_params = {game_mode, 1, 0, (numberOfCells - countDownToWin), 0, time, "lost"};
-                    writer.execute(result_params);
-                }
+        parameter.putBoolean("victory", false);
+        parameter.putInt("time", time);
+        parameter.putString("gameMode", game_mode);
+        parameter.putBoolean("newBestTime", newBestTime);
 
-            } else {
-                //set cell to revealed
-                status[position] = 1;
-
-                switch (data[position]) {
-                    case 0:
-                        cell.setText("");
-                        break;
-                    case 1:
-                        cell.setText(String.valueOf(data[position]));
-                        cell.setTextColor(getResources().getColor(R.color.darkblue));
-                        break;
-                    case 2:
-                        cell.setText(String.valueOf(data[position]));
-                        cell.setTextColor(getResources().getColor(R.color.darkgreen));
-                        break;
-                    case 3:
-                        cell.setText(String.valueOf(data[position]));
-                        cell.setTextColor(getResources().getColor(R.color.red));
-                        break;
-                    case 4:
-                        cell.setText(String.valueOf(data[position]));
-                        cell.setTextColor(getResources().getColor(R.color.darkblue));
-                        break;
-                    case 5:
-                        cell.setText(String.valueOf(data[position]));
-                        cell.setTextColor(getResources().getColor(R.color.brown));
-                        break;
-                    case 6:
-                        cell.setText(String.valueOf(data[position]));
-                        cell.setTextColor(getResources().getColor(R.color.cyan));
-                        break;
-                    case 7:
-                        cell.setText(String.valueOf(data[position]));
-                        cell.setTextColor(getResources().getColor(R.color.black));
-                        break;
-                    case 8:
-                        cell.setText(String.valueOf(data[position]));
-                        cell.setTextColor(getResources().getColor(R.color.black));
-                        break;
-                }
+        gameEnded = true;
 
-                cell.setBackgroundColor(ResourcesCompat.getColor(getResources(), R.color.middleblue, null));
+        lockActivityOrientation();
+        final Intent tempI = new Intent(this, VictoryScreen.class);
+        tempI.putExtras(parameter);
+        handler.postDelayed(new Runnable(){
+            @Override
+            public void run(){
+                startActivityForResult(tempI, 0);
+            }
+        }, 200);
 
-                countDownToWin--;
-                victoryCheck();
 
-                //check if automatic reveal of surrounding cells is needed
-                if (data[position] == 0) {
-                    revealAroundCell(position, false);
-                }
-            }
+        //update general statistics (not for user-defined game mode)
+        if(!game_mode.equals("user-defined")){
+            //first parameter: game mode
+            //second parameter: 1 as one match was played
+            //third parameter: 1 if game was won, 0 if game was lost
+            //fourth parameter: number of uncovered fields
+            //fifth parameter: playing time in seconds (for won games only)
+            //sixth parameter: playing time in seconds
+            //seventh parameter: actual date and time, here 'lost' to indicate that lost game isn't saved in top times list
+            Object[] result_params = {game_mode, 1, 0, (numberOfCells - engine.getCountDownToWin()), 0, time, "lost"};
+            writer.executeOnExecutor(database.getExecutor(), result_params);
         }
     }
 
@@ -1264,7 +631,7 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
      */
     private void victoryCheck() {
         //if all Cells are revealed or marked and the right Number of Bombs is marked
-        if(countDownToWin == 0 && bombsLeft == 0) {
+        if(engine.isWon()) {
             gameEnded = true;
 
             long gametimeInMillis = SystemClock.elapsedRealtime() - timer.getBase();
@@ -1297,8 +664,8 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
                 //fifth parameter: playing time in seconds (for won games only)
                 //sixth parameter: playing time in seconds
                 //seventh parameter: actual date and time
-                Object[] result_params = {game_mode, 1, 1, (numberOfCells - countDownToWin), time, time, DateFormat.getDateTimeInstance().format(new Date())};
-                writer.execute(result_params);
+                Object[] result_params = {game_mode, 1, 1, (numberOfCells - engine.getCountDownToWin()), time, time, DateFormat.getDateTimeInstance().format(new Date())};
+                writer.executeOnExecutor(database.getExecutor(), result_params);
             }
         }
     }
@@ -1341,55 +708,17 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
                         time = (int) gametime;
                     }
 
-                    //if we are in landscape mode we have to change our data back to normal before saving
-                    if(landscape){
-
-                        landscape_data = new int[data.length];
-                        int x = 1;
-                        int start = numberOfColumns;
-                        int now = start;
-                        for (int i = 0; i < data.length; i++) {
-                            landscape_data[i] = data[now - x];
-                            now = now + numberOfColumns;
-                            if(now > numberOfCells) {
-                                now = start;
-                                x++;
-                            }
-                        }
-                        not_in_use_data = data;
-                        data = landscape_data;
-
-
-                        landscape_status = new int[status.length];
-                        x = 1;
-                        start = numberOfColumns;
-                        now = start;
-                        for (int i = 0; i < status.length; i++) {
-                            landscape_status[i] = status[now - x];
-                            now = now + numberOfColumns;
-                            if(now > numberOfCells) {
-                                now = start;
-                                x++;
-                            }
-                        }
-                        not_in_use_status = status;
-                        status = landscape_status;
-
-                        //switch back
-                        int save = numberOfColumns;
-                        numberOfColumns = numberOfRows;
-                        numberOfRows = save;
-                    }
-
                     //check if we need to save into database or not
-                    if(isChangingConfigurations()) {
-                    } else {
-                        StringBuilder content = new StringBuilder();
-                        StringBuilder states = new StringBuilder();
-                        for (int i = 0; i < data.length; i++) {
-                            content.append(data[i]);
-                            states.append(status[i]);
+                    //a saved game that is still being loaded has nothing to save yet
+                    if(isChangingConfigurations() || loadingSavedGame) {
+                        //the journal stays, the game is continued by the next instance of the activity
+                        if (journal != null) {
+                            journal.close();
+                            journal = null;
                         }
+                    } else {
+                        //a game with a seed is saved as seed, first click and moves, other games as binary playing field
+                        byte[] savedBoard = SavedGameCodec.encodeGame(engine, true);
 
 
                         //Save game
@@ -1397,11 +726,15 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
                         //second parameter: game time
                         //third parameter: date
                         //fourth parameter: progress
-                        //fifth parameter: string coding the content of the playingfield
-                        //sixth parameter: string coding the status of the playingfield
-                        DatabaseSavedGameWriter writer = new DatabaseSavedGameWriter(new PFMSQLiteHelper(getApplicationContext()), this);
-                        Object[] data = {game_mode, time, DateFormat.getDateTimeInstance().format(new Date()), (((double)numberOfCells - countDownToWin)/numberOfCells), content, states};
-                        writer.execute(data);
+                        //fifth parameter: binary form of the playingfield
+                        //sixth parameter: journal of this game (or null), deleted once the game is in the database
+                        if (journal != null) {
+                            journal.close();
+                            journal = null;
+                        }
+                        DatabaseSavedGameWriter writer = new DatabaseSavedGameWriter(database.getHelper(), this);
+                        Object[] data = {game_mode, time, DateFormat.getDateTimeInstance().format(new Date()), (((double)numberOfCells - engine.getCountDownToWin())/numberOfCells), savedBoard, journalFile};
+                        writer.executeOnExecutor(database.getExecutor(), data);
 
                         //notify that game is saved
                         Toast saveGameInfo = Toast.makeText(getApplicationContext(), getResources().getString(R.string.gameSaved), Toast.LENGTH_SHORT);
@@ -1426,40 +759,6 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
 
         if(isChangingConfigurations()) {
 
-            if(landscape){
-
-                landscape_data = new int[data.length];
-                int x = 1;
-                int start = numberOfColumns;
-                int now = start;
-                for (int i = 0; i < data.length; i++) {
-                    landscape_data[i] = data[now - x];
-                    now = now + numberOfColumns;
-                    if(now > numberOfCells) {
-                        now = start;
-                        x++;
-                    }
-                }
-                not_in_use_data = data;
-                data = landscape_data;
-
-
-                landscape_status = new int[status.length];
-                x = 1;
-                start = numberOfColumns;
-                now = start;
-                for (int i = 0; i < status.length; i++) {
-                    landscape_status[i] = status[now - x];
-                    now = now + numberOfColumns;
-                    if(now > numberOfCells) {
-                        now = start;
-                        x++;
-                    }
-                }
-                not_in_use_status = status;
-                status = landscape_status;
-
-            }
             int time;
             if (firstClick) {
                 time = totalSavedSeconds;
@@ -1470,19 +769,18 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
                 time = (int) gametime;
             }
 
-            if (numberOfRows < numberOfColumns) {
-                int save = numberOfColumns;
-                numberOfColumns = numberOfRows;
-                numberOfRows = save;
-            }
             // Save the current game state
             savedInstanceState.putInt("columns", numberOfColumns);
             savedInstanceState.putInt("rows", numberOfRows);
-            savedInstanceState.putIntArray("data", data);
-            savedInstanceState.putIntArray("status", status);
+            //the binary form keeps the bundle small, only large playing fields without seed need a file
+            writeInstanceStateGame(savedInstanceState, SavedGameCodec.encodeGame(engine, true));
             savedInstanceState.putInt("time", time);
             savedInstanceState.putBoolean("firstclick", firstClick);
             savedInstanceState.putBoolean("gameended", gameEnded);
+            savedInstanceState.putBoolean("loading", loadingSavedGame);
+            if (journalFile != null) {
+                savedInstanceState.putString("journal", journalFile.getName());
+            }
 
             Boolean empty;
             if (firstClick && !savecheck) {
@@ -1497,6 +795,60 @@ public class PlayActivity extends AppCompatActivity implements PlayRecyclerViewA
             super.onSaveInstanceState(savedInstanceState);
     }
 
+    /**
+     * This method puts the encoded game into the instance state, or into INSTANCE_STATE_FILE if it is too large
+     * for the bundle, in which case only the name of the file is put into the instance state
+     * @param savedInstanceState the instance state of the activity
+     * @param game the game encoded by SavedGameCodec
+     */
+    private void writeInstanceStateGame(Bundle savedInstanceState, byte[] game) {
+        if (game.length > MAX_BUNDLED_GAME_BYTES) {
+            File file = new File(getFilesDir(), INSTANCE_STATE_FILE);
+            try {
+                FileOutputStream out = new FileOutputStream(file);
+                try {
+                    out.write(game);
+                } finally {
+                    out.close();
+                }
+                savedInstanceState.putString("gamefile", file.getName());
+                return;
+            } catch (IOException e) {
+                //without the file the game is put into the bundle after all
+                Log.d("IOException", e.getMessage() + "  \n" + e.getCause());
+            }
+        }
+        savedInstanceState.putByteArray("game", game);
+    }
+
+    /**
+     * This method reads the encoded game written by writeInstanceStateGame and deletes its file
+     * @param savedInstanceState the instance state of the activity
+     * @return the game encoded by SavedGameCodec, null if its file could not be read
+     */
+    private byte[] readInstanceStateGame(Bundle savedInstanceState) {
+        String fileName = savedInstanceState.getString("gamefile");
+        if (fileName == null) {
+            return savedInstanceState.getByteArray("game");
+        }
+        File file = new File(getFilesDir(), fileName);
+        try {
+            byte[] game = new byte[(int) file.length()];
+            DataInputStream in = new DataInputStream(new FileInputStream(file));
+            try {
+                in.readFully(game);
+            } finally {
+                in.close();
+            }
+            return game;
+        } catch (IOException e) {
+            Log.d("IOException", e.getMessage() + "  \n" + e.getCause());
+            return null;
+        } finally {
+            file.delete();
+        }
+    }
+
     private void lockActivityOrientation() {
         Display display = this.getWindowManager().getDefaultDisplay();
         int rotation = display.getRotation();
@@ -23,23 +23,22 @@ import android.support.v7.widget.DividerItemDecoration;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.Toolbar;
-import android.util.Log;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.secuso.privacyfriendlyminesweeper.R;
 import org.secuso.privacyfriendlyminesweeper.activities.adapter.SavedGamesRecyclerViewAdapter;
 import org.secuso.privacyfriendlyminesweeper.database.DatabaseSavedGamesReader;
-import org.secuso.privacyfriendlyminesweeper.database.PFMSQLiteHelper;
+import org.secuso.privacyfriendlyminesweeper.database.PFMDatabaseManager;
+import org.secuso.privacyfriendlyminesweeper.database.PFMSavedGameDataType;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author I3ananas, max-dreger
- * @version 20180809
+ * @version 20261017
  * This class implements functions to handle a list of saved games that can be continued
  * The database for saved games is requested for saved games and if there are any they are displayed
+ * Saved games are read page by page (see DatabaseSavedGamesReader), the next page is read when the end of the list is near
  */
 public class SavedGamesActivity extends AppCompatActivity implements DatabaseSavedGamesReader.DatabaseSavedGamesReaderReceiver {
 
@@ -48,8 +47,12 @@ public class SavedGamesActivity extends AppCompatActivity implements DatabaseSav
     LinearLayoutManager listLayoutManager;
     DividerItemDecoration listDivider;
 
-    ArrayList<ArrayList<String>> savedGamesData = new ArrayList<ArrayList<String>>();
-    ArrayList<String> savedGame = new ArrayList<String>();
+    //the next page is read when fewer saved games are left below the last visible one
+    private static final int LOAD_AHEAD = 10;
+
+    List<PFMSavedGameDataType> savedGames = new ArrayList<PFMSavedGameDataType>();
+    boolean loading;
+    boolean allLoaded;
 
     protected void onCreate(Bundle param) {
         super.onCreate(param);
@@ -61,14 +64,10 @@ public class SavedGamesActivity extends AppCompatActivity implements DatabaseSav
             getSupportActionBar().setDisplayHomeAsUpEnabled(true);
         }
 
-        savedGamesData = new ArrayList<ArrayList<String>>();
-        savedGame = new ArrayList<String>();
-        savedGamesData.add(savedGame);
-
         listRecyclerView = (RecyclerView) findViewById(R.id.savedGamesList);
         listRecyclerView.setHasFixedSize(true);
 
-        listAdapter = new SavedGamesRecyclerViewAdapter(savedGamesData, this);
+        listAdapter = new SavedGamesRecyclerViewAdapter(savedGames, this);
         listRecyclerView.setAdapter(listAdapter);
 
         listLayoutManager = new LinearLayoutManager(this);
@@ -77,77 +76,44 @@ public class SavedGamesActivity extends AppCompatActivity implements DatabaseSav
         listDivider = new DividerItemDecoration(listRecyclerView.getContext(), listLayoutManager.getOrientation());
         listRecyclerView.addItemDecoration(listDivider);
 
-        DatabaseSavedGamesReader reader = new DatabaseSavedGamesReader(new PFMSQLiteHelper(getApplicationContext()), this);
-        reader.execute(String.valueOf(getApplicationContext().getDatabasePath("PF_MINESWEEPER_DB")));
-    }
-
-    /**
-     * This method sets the saved games to display
-     * @param data JSONObject that contains all saved game data sets from the database
-     */
-    public void displaySavedGames(JSONObject data){
-
-        String game_mode;
-        savedGamesData.clear();
-
-        try{
-            //get the tables
-            JSONArray savedGames = data.getJSONObject("PF_MINESWEEPER_DB").getJSONArray("SAVED_GAMES");
-
-            //read saved games
-            for(int i = 0; i < savedGames.length(); i++) {
-                savedGame = new ArrayList<String>();
-                savedGame.add(String.valueOf(savedGames.getJSONObject(i).getInt("id")));
-                game_mode = savedGames.getJSONObject(i).getString("game_mode");
-                if(game_mode.equals("easy")){
-                    savedGame.add(getResources().getString(R.string.game_mode_easy));
-                }
-                else if(game_mode.equals("medium")){
-                    savedGame.add(getResources().getString(R.string.game_mode_medium));
-                }
-                else if(game_mode.equals("difficult")){
-                    savedGame.add(getResources().getString(R.string.game_mode_difficult));
+        listRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (listLayoutManager.findLastVisibleItemPosition() >= savedGames.size() - LOAD_AHEAD) {
+                    loadNextPage();
                 }
-                savedGame.add(formatPlayingTime(Integer.valueOf(savedGames.getJSONObject(i).getString("playing_time"))));
-                savedGame.add(savedGames.getJSONObject(i).getString("date"));
-                savedGame.add(savedGames.getJSONObject(i).getString("progress"));
-                savedGame.add(savedGames.getJSONObject(i).getString("saved_game_content"));
-                savedGame.add(savedGames.getJSONObject(i).getString("saved_game_status"));
-                savedGamesData.add(savedGame);
             }
-        }
-        catch(JSONException e){
-            Log.d("JSONException", e.getMessage() + "  \n" + e.getCause());
-        }
+        });
 
-        RecyclerView.Adapter adapterSavedGames = new SavedGamesRecyclerViewAdapter(savedGamesData, this);
-        listRecyclerView.swapAdapter(adapterSavedGames, true);
-        listAdapter.notifyDataSetChanged();
+        loadNextPage();
     }
 
     /**
-     * Formats the given playing time (in seconds) as minutes and seconds
-     * @param time The playing time to format
-     * @return Formatted playing time as a String
+     * This method requests the saved games after the last one in the list, unless a page is already requested
+     * or all saved games are loaded
      */
-    private static String formatPlayingTime(int time){
-        int time_minutes;
-        int time_seconds;
-        String time_string;
-
-        time_minutes = time/60;
-        time_seconds = time%60;
-        time_string = (String.valueOf(time_minutes) + ":");
-
-        if(time_seconds < 10){
-            time_string = time_string + "0" + time_seconds;
-        }
-        else{
-            time_string = time_string + time_seconds;
+    private void loadNextPage(){
+        if(loading || allLoaded){
+            return;
         }
+        loading = true;
 
-        return time_string;
+        int lastId = savedGames.isEmpty() ? 0 : savedGames.get(savedGames.size() - 1).getID();
+        PFMDatabaseManager database = PFMDatabaseManager.getInstance(this);
+        DatabaseSavedGamesReader reader = new DatabaseSavedGamesReader(database.getHelper(), this);
+        reader.executeOnExecutor(database.getExecutor(), lastId);
     }
 
+    /**
+     * This method appends a page of saved games to the list
+     * @param page summaries of the saved games after the last one in the list
+     */
+    public void displaySavedGames(List<PFMSavedGameDataType> page){
+        loading = false;
+        allLoaded = page.size() < DatabaseSavedGamesReader.PAGE_SIZE;
 
+        int start = savedGames.size();
+        savedGames.addAll(page);
+        listAdapter.notifyItemRangeInserted(start, page.size());
+    }
 }
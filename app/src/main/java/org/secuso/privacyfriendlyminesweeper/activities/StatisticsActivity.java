@@ -31,7 +31,6 @@ import android.support.v7.widget.DividerItemDecoration;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.Toolbar;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -39,16 +38,15 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.secuso.privacyfriendlyminesweeper.R;
 import org.secuso.privacyfriendlyminesweeper.activities.adapter.TopTimesRecyclerViewAdapter;
 import org.secuso.privacyfriendlyminesweeper.activities.helper.BaseActivity;
 import org.secuso.privacyfriendlyminesweeper.database.DatabaseReader;
 import org.secuso.privacyfriendlyminesweeper.database.DatabaseReader.DatabaseReaderReceiver;
 import org.secuso.privacyfriendlyminesweeper.database.DatabaseReset;
-import org.secuso.privacyfriendlyminesweeper.database.PFMSQLiteHelper;
+import org.secuso.privacyfriendlyminesweeper.database.PFMDatabaseManager;
+import org.secuso.privacyfriendlyminesweeper.database.PFMGeneralStatisticsDataType;
+import org.secuso.privacyfriendlyminesweeper.database.PFMTopTimeDataType;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -110,86 +108,62 @@ public class StatisticsActivity extends AppCompatActivity implements DatabaseRea
         topTimes.add(topTimesMedium);
         topTimes.add(topTimesDifficult);
 
-        DatabaseReader reader = new DatabaseReader(new PFMSQLiteHelper(getApplicationContext()), this);
-        reader.execute(String.valueOf(getApplicationContext().getDatabasePath("PF_MINESWEEPER_DB")));
+        PFMDatabaseManager database = PFMDatabaseManager.getInstance(this);
+        DatabaseReader reader = new DatabaseReader(database.getHelper(), this);
+        reader.executeOnExecutor(database.getExecutor());
     }
 
     /**
-     * Extracts all statistics data from a JSONObject
-     * @param data JSONObject that contains all data sets from the database
+     * Takes the statistics data read from the database
+     * @param generalStatistics data sets of general statistics, one per game mode
+     * @param topTimesData top time data sets of all game modes, ordered by playing time
      */
-    public void setStatistics(JSONObject data){
+    public void setStatistics(List<PFMGeneralStatisticsDataType> generalStatistics, List<PFMTopTimeDataType> topTimesData){
 
-        int index = 0;
+        int index;
 
-        try{
-            //get the tables
-            JSONArray general_statistics = data.getJSONObject("PF_MINESWEEPER_DB").getJSONArray("GENERAL_STATISTICS");
-            JSONArray top_times = data.getJSONObject("PF_MINESWEEPER_DB").getJSONArray("TOP_TIMES");
+        //reset general statistics, game modes without a data set are shown as 0
+        for(int i = 0; i < 3; i++){
+            nrOfPlayedGames[i] = 0;
+            nrOfUncoveredFields[i] = 0;
+            winrate[i] = 0;
+            averagePlayingTime[i] = 0;
+        }
 
-            //read general statistics
-            if(general_statistics.length() > 0) {
-                for (int i = 0; i < general_statistics.length(); i++) {
-                    if (general_statistics.getJSONObject(i).getString("game_mode").equals("easy")) {
-                        index = 0;
-                    }
-                    if (general_statistics.getJSONObject(i).getString("game_mode").equals("medium")) {
-                        index = 1;
-                    }
-                    if (general_statistics.getJSONObject(i).getString("game_mode").equals("difficult")) {
-                        index = 2;
-                    }
+        //read general statistics
+        for(PFMGeneralStatisticsDataType generalStats : generalStatistics){
+            index = gameModeIndex(generalStats.getGAME_MODE());
+            if(index < 0){
+                continue;
+            }
 
-                    nrOfPlayedGames[index] = general_statistics.getJSONObject(i).getInt("nr_of_played_games");
-                    nrOfUncoveredFields[index] = general_statistics.getJSONObject(i).getInt("nr_of_uncovered_fields");
-                    if (nrOfPlayedGames[index] != 0) {
-                        winrate[index] = (general_statistics.getJSONObject(i).getInt("nr_of_won_games") * 100) / nrOfPlayedGames[index];
-                    } else {
-                        winrate[index] = 0;
-                    }
-                    if (general_statistics.getJSONObject(i).getInt("nr_of_won_games") != 0) {
-                        averagePlayingTime[index] = general_statistics.getJSONObject(i).getInt("wins_playing_time") / general_statistics.getJSONObject(i).getInt("nr_of_won_games");
-                    } else {
-                        averagePlayingTime[index] = 0;
-                    }
-                }
+            nrOfPlayedGames[index] = generalStats.getNR_OF_PLAYED_GAMES();
+            nrOfUncoveredFields[index] = generalStats.getNR_OF_UNCOVERED_FIELDS();
+            if (nrOfPlayedGames[index] != 0) {
+                winrate[index] = (generalStats.getNR_OF_WON_GAMES() * 100) / nrOfPlayedGames[index];
             }
-            else{
-                //reset general statistics if there are no data sets
-                for(int i = 0; i < 3; i++){
-                    nrOfPlayedGames[i] = 0;
-                    nrOfUncoveredFields[i] = 0;
-                    winrate[i] = 0;
-                    averagePlayingTime[i] = 0;
-                }
+            if (generalStats.getNR_OF_WON_GAMES() != 0) {
+                averagePlayingTime[index] = generalStats.getWINS_PLAYING_TIME() / generalStats.getNR_OF_WON_GAMES();
             }
+        }
 
-            topTimesEasy = new ArrayList<ArrayList<String>>();
-            topTimesMedium = new ArrayList<ArrayList<String>>();
-            topTimesDifficult = new ArrayList<ArrayList<String>>();
-            for(int i = 0; i < top_times.length(); i++){
-
-                ArrayList<String> topTime = new ArrayList<String>();
-                topTime.add(formatPlayingTime(top_times.getJSONObject(i).getInt("playing_time")));
-                topTime.add(top_times.getJSONObject(i).getString("date"));
-
-                if(top_times.getJSONObject(i).getString("game_mode").equals("easy")){
-                    topTimesEasy.add(topTime);
-                }
-                if(top_times.getJSONObject(i).getString("game_mode").equals("medium")){
-                    topTimesMedium.add(topTime);
-                }
-                if(top_times.getJSONObject(i).getString("game_mode").equals("difficult")){
-                    topTimesDifficult.add(topTime);
-                }
+        topTimesEasy = new ArrayList<ArrayList<String>>();
+        topTimesMedium = new ArrayList<ArrayList<String>>();
+        topTimesDifficult = new ArrayList<ArrayList<String>>();
+        topTimes.clear();
+        topTimes.add(topTimesEasy);
+        topTimes.add(topTimesMedium);
+        topTimes.add(topTimesDifficult);
+        for(PFMTopTimeDataType topTimeData : topTimesData){
+            index = gameModeIndex(topTimeData.getGAME_MODE());
+            if(index < 0){
+                continue;
             }
-            topTimes.clear();
-            topTimes.add(topTimesEasy);
-            topTimes.add(topTimesMedium);
-            topTimes.add(topTimesDifficult);
-        }
-        catch(JSONException e){
-            Log.d("JSONException", e.getMessage() + "  \n" + e.getCause());
+
+            ArrayList<String> topTime = new ArrayList<String>();
+            topTime.add(formatPlayingTime(topTimeData.getTIME()));
+            topTime.add(topTimeData.getDATE());
+            topTimes.get(index).add(topTime);
         }
 
         List<Fragment> fragments = fragmentManager.getFragments();
@@ -203,6 +177,24 @@ public class StatisticsActivity extends AppCompatActivity implements DatabaseRea
         }
     }
 
+    /**
+     * Gives the tab of a game mode
+     * @param game_mode Game mode as stored in the database
+     * @return 0 for easy, 1 for medium, 2 for difficult, -1 for other game modes (e.g. user defined)
+     */
+    private static int gameModeIndex(String game_mode){
+        if(game_mode.equals("easy")){
+            return 0;
+        }
+        if(game_mode.equals("medium")){
+            return 1;
+        }
+        if(game_mode.equals("difficult")){
+            return 2;
+        }
+        return -1;
+    }
+
     /**
      * Formats the given playing time (in seconds) as minutes and seconds
      * @param time The playing time to format
@@ -249,8 +241,9 @@ public class StatisticsActivity extends AppCompatActivity implements DatabaseRea
      * Read and display statistics from database after reset operation
      */
     public void resetStatistics(){
-        DatabaseReader reader = new DatabaseReader(new PFMSQLiteHelper(getApplicationContext()), this);
-        reader.execute(String.valueOf(getApplicationContext().getDatabasePath("PF_MINESWEEPER_DB")));
+        PFMDatabaseManager database = PFMDatabaseManager.getInstance(this);
+        DatabaseReader reader = new DatabaseReader(database.getHelper(), this);
+        reader.executeOnExecutor(database.getExecutor());
     }
 
     @Override
@@ -268,8 +261,9 @@ public class StatisticsActivity extends AppCompatActivity implements DatabaseRea
                 builder.setPositiveButton(R.string.resetAllStatisticsDialogYes, new DialogInterface.OnClickListener() {
                     @Override
                     public void onClick(DialogInterface dialog, int id) {
-                        DatabaseReset reset = new DatabaseReset(new PFMSQLiteHelper(getApplicationContext()), StatisticsActivity.this);
-                        reset.execute();
+                        PFMDatabaseManager database = PFMDatabaseManager.getInstance(StatisticsActivity.this);
+                        DatabaseReset reset = new DatabaseReset(database.getHelper(), StatisticsActivity.this);
+                        reset.executeOnExecutor(database.getExecutor());
                     }
                 });
                 builder.setNegativeButton(R.string.resetAllStatisticsDialogNo, new DialogInterface.OnClickListener() {
@@ -32,64 +32,84 @@ import android.widget.TextView;
 import org.secuso.privacyfriendlyminesweeper.R;
 import org.secuso.privacyfriendlyminesweeper.activities.PlayActivity;
 import org.secuso.privacyfriendlyminesweeper.activities.SavedGamesActivity;
+import org.secuso.privacyfriendlyminesweeper.database.PFMSavedGameDataType;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author I3ananas, max-dreger
- * @version 20180802
+ * @version 20261017
  * This class implements an adapter and its functionality to handle the items/views in a list of saved games
  * Saved games can be restarted from this list
+ * The list holds the summaries of the saved games loaded so far (see SavedGamesActivity), the playing fields are
+ * only read by the PlayActivity when a saved game is chosen
  */
 public class SavedGamesRecyclerViewAdapter extends RecyclerView.Adapter<SavedGamesRecyclerViewAdapter.ViewHolder> {
 
-    private ArrayList<ArrayList<String>> savedGameParameters;
+    private List<PFMSavedGameDataType> savedGames;
     private SavedGamesActivity savedGamesActivity;
 
-    //pass data to constructor
-    public SavedGamesRecyclerViewAdapter(ArrayList<ArrayList<String>> parameters, Context pSavedGamesActivity){
-        this.savedGameParameters = parameters;
+    //pass data to constructor, the list is shared with the activity that appends further pages
+    public SavedGamesRecyclerViewAdapter(List<PFMSavedGameDataType> savedGames, Context pSavedGamesActivity){
+        this.savedGames = savedGames;
         savedGamesActivity = (SavedGamesActivity) pSavedGamesActivity;
     }
 
     //fill views with information corresponding to saved games
     @Override
     public void onBindViewHolder(@NonNull SavedGamesRecyclerViewAdapter.ViewHolder holder, int position) {
-        if(savedGameParameters.get(position).size() > 0) {
-            holder.id = Integer.valueOf(savedGameParameters.get(position).get(0));
-            holder.savedGameMode.setText(savedGameParameters.get(position).get(1));
-            holder.savedGamePlayingTime.setText(savedGameParameters.get(position).get(2));
-            holder.savedGameDate.setText(savedGameParameters.get(position).get(3));
-            if(savedGameParameters.get(position).get(1).equals(savedGamesActivity.getResources().getString(R.string.game_mode_easy))){
-                holder.mine1.setImageAlpha(255);
-                holder.mine2.setImageAlpha(100);
-                holder.mine3.setImageAlpha(100);
-            }
-            if(savedGameParameters.get(position).get(1).equals(savedGamesActivity.getResources().getString(R.string.game_mode_medium))){
-                holder.mine1.setImageAlpha(255);
-                holder.mine2.setImageAlpha(255);
-                holder.mine3.setImageAlpha(100);
-            }
-            if(savedGameParameters.get(position).get(1).equals(savedGamesActivity.getResources().getString(R.string.game_mode_difficult))){
-                holder.mine1.setImageAlpha(255);
-                holder.mine2.setImageAlpha(255);
-                holder.mine3.setImageAlpha(255);
-            }
-            if(savedGameParameters.get(position).get(1).equals(savedGamesActivity.getResources().getString(R.string.game_mode_user_defined))){
-                holder.mine1.setImageAlpha(0);
-                holder.mine2.setImageAlpha(0);
-                holder.mine3.setImageAlpha(0);
-            }
-
-            holder.savedGameProgress.setProgress((int) (Math.round(Double.parseDouble(savedGameParameters.get(position).get(4)) * 100)));
-            holder.information = savedGameParameters.get(position);
+        PFMSavedGameDataType savedGame = savedGames.get(position);
+        String game_mode = savedGame.getGAME_MODE();
+
+        holder.savedGame = savedGame;
+        holder.savedGamePlayingTime.setText(formatPlayingTime(savedGame.getTIME()));
+        holder.savedGameDate.setText(savedGame.getDATE());
+        if(game_mode.equals("easy")){
+            holder.savedGameMode.setText(R.string.game_mode_easy);
+            holder.mine1.setImageAlpha(255);
+            holder.mine2.setImageAlpha(100);
+            holder.mine3.setImageAlpha(100);
         }
+        else if(game_mode.equals("medium")){
+            holder.savedGameMode.setText(R.string.game_mode_medium);
+            holder.mine1.setImageAlpha(255);
+            holder.mine2.setImageAlpha(255);
+            holder.mine3.setImageAlpha(100);
+        }
+        else if(game_mode.equals("difficult")){
+            holder.savedGameMode.setText(R.string.game_mode_difficult);
+            holder.mine1.setImageAlpha(255);
+            holder.mine2.setImageAlpha(255);
+            holder.mine3.setImageAlpha(255);
+        }
+        else{
+            holder.savedGameMode.setText(R.string.game_mode_user_defined);
+            holder.mine1.setImageAlpha(0);
+            holder.mine2.setImageAlpha(0);
+            holder.mine3.setImageAlpha(0);
+        }
+
+        holder.savedGameProgress.setProgress((int) (Math.round(Double.parseDouble(savedGame.getPROGRESS()) * 100)));
     }
 
     //get number of saved games
     @Override
     public int getItemCount(){
-        return savedGameParameters.size();
+        return savedGames.size();
+    }
+
+    /**
+     * Formats the given playing time (in seconds) as minutes and seconds
+     * @param time The playing time to format
+     * @return Formatted playing time as a String
+     */
+    private static String formatPlayingTime(int time){
+        int time_seconds = time%60;
+        if(time_seconds < 10){
+            return (time/60) + ":0" + time_seconds;
+        }
+        return (time/60) + ":" + time_seconds;
     }
 
     //get list element for a single saved game
@@ -101,7 +121,7 @@ public class SavedGamesRecyclerViewAdapter extends RecyclerView.Adapter<SavedGam
     //inner class for a list element representing a single saved game
     public static class ViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
 
-        public int id;
+        private PFMSavedGameDataType savedGame;
         private TextView savedGameMode;
         private TextView savedGameDate;
         private TextView savedGamePlayingTime;
@@ -109,7 +129,6 @@ public class SavedGamesRecyclerViewAdapter extends RecyclerView.Adapter<SavedGam
         private ImageView mine2;
         private ImageView mine3;
         private ProgressBar savedGameProgress;
-        private ArrayList<String> information;
         private SavedGamesActivity activity;
 
         //get text views to display information about saved games
@@ -132,19 +151,13 @@ public class SavedGamesRecyclerViewAdapter extends RecyclerView.Adapter<SavedGam
             Bundle param = new Bundle();
             param.putBoolean("continue", true);
 
-            //language-specific game mode has to be translated into english (database standard)
-            if(information.get(1).equals(view.getContext().getResources().getString(R.string.game_mode_easy))){
-                information.set(1, "easy");
-            }
-            if(information.get(1).equals(view.getContext().getResources().getString(R.string.game_mode_medium))){
-                information.set(1, "medium");
-            }
-            if(information.get(1).equals(view.getContext().getResources().getString(R.string.game_mode_difficult))) {
-                information.set(1, "difficult");
-            }
-            if(information.get(1).equals(view.getContext().getResources().getString(R.string.game_mode_user_defined))){
-                information.set(1, "user-defined");
-            }
+            //id, game mode (database standard), playing time, date and progress of the chosen game
+            ArrayList<String> information = new ArrayList<String>();
+            information.add(String.valueOf(savedGame.getID()));
+            information.add(savedGame.getGAME_MODE());
+            information.add(formatPlayingTime(savedGame.getTIME()));
+            information.add(savedGame.getDATE());
+            information.add(savedGame.getPROGRESS());
 
             param.putStringArrayList("information", information);
 
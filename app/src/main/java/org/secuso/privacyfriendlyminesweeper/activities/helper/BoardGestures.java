@@ -0,0 +1,145 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.secuso.privacyfriendlyminesweeper.activities.helper;
+
+import android.view.GestureDetector;
+import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
+import android.view.SoundEffectConstants;
+import android.view.View;
+import android.widget.OverScroller;
+
+/**
+ * @version 20261017
+ * This class turns the touch events of a playing field view into taps on cells and changes of the BoardViewport:
+ * zooming with two fingers, dragging and flinging
+ */
+public final class BoardGestures {
+
+    private final View view;
+    private final BoardViewport viewport;
+    private final Listener listener;
+    private final GestureDetector gestureDetector;
+    private final ScaleGestureDetector scaleGestureDetector;
+    private final OverScroller scroller;
+
+    private final Runnable flingStep = new Runnable() {
+        @Override
+        public void run() {
+            if (scroller.computeScrollOffset()) {
+                if (viewport.scrollTo(scroller.getCurrX(), scroller.getCurrY())) {
+                    listener.onViewportChanged();
+                }
+                view.postOnAnimation(this);
+            }
+        }
+    };
+
+    public BoardGestures(final View view, final BoardViewport viewport, final Listener listener) {
+        this.view = view;
+        this.viewport = viewport;
+        this.listener = listener;
+        this.scroller = new OverScroller(view.getContext());
+
+        gestureDetector = new GestureDetector(view.getContext(), new GestureDetector.SimpleOnGestureListener() {
+            @Override
+            public boolean onDown(MotionEvent e) {
+                scroller.forceFinished(true);
+                return true;
+            }
+
+            @Override
+            public boolean onSingleTapUp(MotionEvent e) {
+                int position = viewport.positionAt(e.getX(), e.getY());
+                if (position >= 0) {
+                    view.playSoundEffect(SoundEffectConstants.CLICK);
+                    listener.onCellClick(position);
+                }
+                return true;
+            }
+
+            @Override
+            public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
+                if (viewport.scrollTo(viewport.getScrollX() + Math.round(distanceX), viewport.getScrollY() + Math.round(distanceY))) {
+                    listener.onViewportChanged();
+                }
+                return true;
+            }
+
+            @Override
+            public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+                scroller.fling(viewport.getScrollX(), viewport.getScrollY(), -Math.round(velocityX), -Math.round(velocityY),
+                        0, viewport.getMaxScrollX(), 0, viewport.getMaxScrollY());
+                view.postOnAnimation(flingStep);
+                return true;
+            }
+        });
+
+        scaleGestureDetector = new ScaleGestureDetector(view.getContext(), new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+            @Override
+            public boolean onScale(ScaleGestureDetector detector) {
+                if (viewport.zoom(detector.getScaleFactor(), detector.getFocusX(), detector.getFocusY())) {
+                    listener.onViewportChanged();
+                }
+                return true;
+            }
+
+            @Override
+            public void onScaleEnd(ScaleGestureDetector detector) {
+                listener.onZoomEnd();
+            }
+        });
+    }
+
+    /**
+     * @return true while two fingers are zooming
+     */
+    public boolean isZooming() {
+        return scaleGestureDetector.isInProgress();
+    }
+
+    /**
+     * This method has to be called from onTouchEvent of the view
+     * @param event the touch event
+     * @return true if the event was handled
+     */
+    public boolean onTouchEvent(MotionEvent event) {
+        boolean handled = scaleGestureDetector.onTouchEvent(event);
+        //while two fingers zoom, the movements are no taps or scrolls
+        if (!scaleGestureDetector.isInProgress()) {
+            handled = gestureDetector.onTouchEvent(event) || handled;
+        }
+        return handled;
+    }
+
+    /**
+     * Interface for the view that uses the gestures
+     */
+    public interface Listener {
+        /**
+         * The cell size or the scroll position of the viewport has changed
+         */
+        void onViewportChanged();
+
+        /**
+         * Zooming with two fingers has ended
+         */
+        void onZoomEnd();
+
+        void onCellClick(int position);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.secuso.privacyfriendlyminesweeper.activities.helper;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.util.TypedValue;
+
+import org.secuso.privacyfriendlyminesweeper.engine.Board;
+import org.secuso.privacyfriendlyminesweeper.engine.BoardOrientation;
+import org.secuso.privacyfriendlyminesweeper.engine.BoardSnapshot;
+
+/**
+ * @version 20261017
+ * This class draws the visible cells of a BoardSnapshot with the tiles of a TileAtlas
+ * It is used by one thread at a time: the UI thread for BoardView or the render thread of BoardSurfaceView
+ */
+public final class BoardRenderer {
+
+    private final Context context;
+    //space between neighbouring cells is two times the gap
+    private final int gap;
+    private TileAtlas tiles;
+
+    public BoardRenderer(Context context) {
+        this.context = context;
+        this.gap = Math.max(1, Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 1, context.getResources().getDisplayMetrics())));
+    }
+
+    /**
+     * This method draws all cells inside clip
+     * @param canvas the canvas to draw on
+     * @param snapshot the state of the playing field
+     * @param orientation orientation in which the playing field is shown
+     * @param cellSize size of the cells in pixels
+     * @param originX x coordinate of the left edge of the first column
+     * @param originY y coordinate of the top edge of the first row
+     * @param clip the area of the canvas that has to be drawn
+     * @param stretch true to stretch the existing tiles instead of rendering new ones (e.g. while zooming)
+     */
+    public void draw(Canvas canvas, BoardSnapshot snapshot, BoardOrientation orientation, int cellSize, int originX, int originY, Rect clip, boolean stretch) {
+        if (cellSize <= 2 * gap) {
+            return;
+        }
+        if (tiles == null || (!stretch && tiles.getCellSize() != cellSize)) {
+            if (tiles != null) {
+                tiles.recycle();
+            }
+            tiles = new TileAtlas(context, cellSize, gap);
+        }
+
+        int columns = orientation.getNumberOfColumns();
+        int explodedPosition = snapshot.getExplodedPosition();
+        int firstColumn = Math.max(0, floorDiv(clip.left - originX, cellSize));
+        int lastColumn = Math.min(columns - 1, floorDiv(clip.right - originX, cellSize));
+        int firstRow = Math.max(0, floorDiv(clip.top - originY, cellSize));
+        int lastRow = Math.min(orientation.getNumberOfRows() - 1, floorDiv(clip.bottom - originY, cellSize));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int position = orientation.toPosition(row, column);
+                int tile;
+                if (position == explodedPosition) {
+                    tile = TileAtlas.EXPLODED;
+                } else {
+                    int state = snapshot.getStatus(position);
+                    if (state == Board.REVEALED) {
+                        tile = snapshot.getValue(position);
+                    } else if (state == Board.MARKED) {
+                        tile = TileAtlas.FLAG;
+                    } else {
+                        tile = TileAtlas.COVERED;
+                    }
+                }
+                tiles.draw(canvas, tile, originX + column * cellSize, originY + row * cellSize, cellSize);
+            }
+        }
+    }
+
+    /**
+     * This method frees the memory of the tiles
+     */
+    public void release() {
+        if (tiles != null) {
+            tiles.recycle();
+            tiles = null;
+        }
+    }
+
+    //Math.floorDiv needs API level 24
+    private static int floorDiv(int x, int y) {
+        int quotient = x / y;
+        if ((x % y != 0) && ((x < 0) != (y < 0))) {
+            quotient--;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.secuso.privacyfriendlyminesweeper.activities.helper;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.MotionEvent;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+
+import org.secuso.privacyfriendlyminesweeper.engine.BoardSnapshot;
+import org.secuso.privacyfriendlyminesweeper.engine.BoardOrientation;
+import org.secuso.privacyfriendlyminesweeper.engine.CellList;
+import org.secuso.privacyfriendlyminesweeper.engine.GameEngine;
+
+/**
+ * @version 20261017
+ * This class implements the playing field as a SurfaceView that is drawn on its own render thread
+ * The render thread draws the latest BoardSnapshot published by the GameEngine, so the UI thread only
+ * handles input and moves and stays responsive while large reveals are drawn
+ * Frames are requested after moves and changes of the viewport; requests that arrive while a frame is drawn
+ * are merged into the next frame
+ */
+public class BoardSurfaceView extends SurfaceView implements PlayingField, SurfaceHolder.Callback {
+
+    private volatile GameEngine engine;
+    private volatile BoardOrientation orientation;
+    private OnCellClickListener cellClickListener;
+    private final BoardViewport viewport;
+    private final BoardGestures gestures;
+    private final BoardRenderer renderer;
+    private final int backgroundColor;
+
+    //state of the next frame, guarded by lock
+    private final Object lock = new Object();
+    private boolean frameRequested;
+    private boolean running;
+    private int frameCellSize;
+    private int frameOriginX;
+    private int frameOriginY;
+    private boolean frameStretched;
+    private RenderThread renderThread;
+
+    public BoardSurfaceView(Context context) {
+        this(context, null);
+    }
+
+    public BoardSurfaceView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public BoardSurfaceView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        viewport = new BoardViewport(getResources().getDisplayMetrics().density);
+        renderer = new BoardRenderer(context);
+        gestures = new BoardGestures(this, viewport, new BoardGestures.Listener() {
+            @Override
+            public void onViewportChanged() {
+                requestFrame();
+            }
+
+            @Override
+            public void onZoomEnd() {
+                //while zooming the tiles are stretched, now they are rendered for the new size
+                requestFrame();
+            }
+
+            @Override
+            public void onCellClick(int position) {
+                if (cellClickListener != null) {
+                    cellClickListener.onCellClick(position);
+                }
+            }
+        });
+
+        //the surface is not transparent, so it is filled with the background of the window first
+        TypedValue background = new TypedValue();
+        context.getTheme().resolveAttribute(android.R.attr.colorBackground, background, true);
+        backgroundColor = background.data;
+
+        getHolder().addCallback(this);
+    }
+
+    @Override
+    public void setEngine(GameEngine engine, BoardOrientation orientation) {
+        //the render thread reads the snapshots, so the engine has to take one after every move
+        if (this.engine != null) {
+            this.engine.setPublishSnapshots(false);
+        }
+        engine.setPublishSnapshots(true);
+        this.orientation = orientation;
+        this.engine = engine;
+        updateViewport(getWidth(), getHeight());
+        requestFrame();
+    }
+
+    @Override
+    public void setOnCellClickListener(OnCellClickListener listener) {
+        this.cellClickListener = listener;
+    }
+
+    /**
+     * The render thread always draws the whole visible part of the latest snapshot,
+     * so the changed cells only have to trigger a new frame
+     * @param cells positions of the changed cells
+     */
+    @Override
+    public void invalidateCells(CellList cells) {
+        if (!cells.isEmpty()) {
+            requestFrame();
+        }
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateViewport(w, h);
+        requestFrame();
+    }
+
+    private void updateViewport(int width, int height) {
+        if (engine != null) {
+            viewport.setSize(width, height, orientation);
+        }
+    }
+
+    /**
+     * This method hands the current viewport to the render thread and wakes it up
+     * It is called on the UI thread
+     */
+    private void requestFrame() {
+        synchronized (lock) {
+            frameCellSize = viewport.getCellSize();
+            frameOriginX = viewport.getOriginX();
+            frameOriginY = viewport.getOriginY();
+            frameStretched = gestures.isZooming();
+            frameRequested = true;
+            lock.notify();
+        }
+    }
+
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        synchronized (lock) {
+            running = true;
+        }
+        renderThread = new RenderThread();
+        renderThread.start();
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        requestFrame();
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        synchronized (lock) {
+            running = false;
+            lock.notify();
+        }
+        //the surface must not be used after this method returns
+        if (renderThread == null) {
+            return;
+        }
+        boolean interrupted = false;
+        boolean retry = true;
+        while (retry) {
+            try {
+                renderThread.join();
+                retry = false;
+            } catch (InterruptedException e) {
+                //try again, the interrupt is kept for the caller
+                interrupted = true;
+            }
+        }
+        renderThread = null;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        return gestures.onTouchEvent(event) || super.onTouchEvent(event);
+    }
+
+    /**
+     * This class draws a frame whenever one is requested until the surface is destroyed
+     */
+    private class RenderThread extends Thread {
+
+        private final Rect clip = new Rect();
+
+        RenderThread() {
+            super("BoardRenderThread");
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                int cellSize;
+                int originX;
+                int originY;
+                boolean stretched;
+                synchronized (lock) {
+                    while (running && !frameRequested) {
+                        try {
+                            lock.wait();
+                        } catch (InterruptedException e) {
+                            //check the state again
+                        }
+                    }
+                    if (!running) {
+                        break;
+                    }
+                    frameRequested = false;
+                    cellSize = frameCellSize;
+                    originX = frameOriginX;
+                    originY = frameOriginY;
+                    stretched = frameStretched;
+                }
+
+                GameEngine engine = BoardSurfaceView.this.engine;
+                BoardOrientation orientation = BoardSurfaceView.this.orientation;
+                if (engine == null || cellSize == 0) {
+                    continue;
+                }
+                BoardSnapshot snapshot = engine.getSnapshot();
+
+                SurfaceHolder holder = getHolder();
+                Canvas canvas = holder.lockCanvas();
+                if (canvas == null) {
+                    continue;
+                }
+                try {
+                    canvas.drawColor(backgroundColor);
+                    clip.set(0, 0, canvas.getWidth(), canvas.getHeight());
+                    renderer.draw(canvas, snapshot, orientation, cellSize, originX, originY, clip, stretched);
+                } finally {
+                    holder.unlockCanvasAndPost(canvas);
+                }
+            }
+            renderer.release();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.secuso.privacyfriendlyminesweeper.activities.helper;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.secuso.privacyfriendlyminesweeper.engine.BoardOrientation;
+import org.secuso.privacyfriendlyminesweeper.engine.CellList;
+import org.secuso.privacyfriendlyminesweeper.engine.GameEngine;
+
+/**
+ * @version 20261017
+ * This class implements the playing field as one single view
+ * All cells are drawn with Canvas from the latest BoardSnapshot of the GameEngine, so there is no view per cell
+ * and measuring, layout and memory do not grow with the size of the playing field
+ * The cells are arranged on the screen as given by a BoardOrientation
+ * After a move only the union rectangle of the changed cells is invalidated, once per frame,
+ * and only the cells inside the clip of the canvas are drawn again
+ * The cells are copied from a TileAtlas that is rendered once for each cell size
+ *
+ * The view is a viewport on the playing field: it can be zoomed with two fingers and moved by dragging,
+ * so playing fields of any size can be played, and only the visible cells are drawn
+ */
+public class BoardView extends View implements PlayingField {
+
+    private GameEngine engine;
+    private BoardOrientation orientation;
+    private OnCellClickListener cellClickListener;
+    private final BoardViewport viewport;
+    private final BoardGestures gestures;
+    private final BoardRenderer renderer;
+
+    //union of the cells changed since the last frame
+    private final Rect dirty = new Rect();
+    private final Rect clip = new Rect();
+    private boolean frameScheduled;
+    private final Runnable invalidateDirty = new Runnable() {
+        @Override
+        public void run() {
+            frameScheduled = false;
+            invalidate(dirty);
+            dirty.setEmpty();
+        }
+    };
+
+    public BoardView(Context context) {
+        this(context, null);
+    }
+
+    public BoardView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public BoardView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        viewport = new BoardViewport(getResources().getDisplayMetrics().density);
+        renderer = new BoardRenderer(context);
+        gestures = new BoardGestures(this, viewport, new BoardGestures.Listener() {
+            @Override
+            public void onViewportChanged() {
+                invalidate();
+            }
+
+            @Override
+            public void onZoomEnd() {
+                //while zooming the tiles are stretched, now they are rendered for the new size
+                invalidate();
+            }
+
+            @Override
+            public void onCellClick(int position) {
+                if (cellClickListener != null) {
+                    cellClickListener.onCellClick(position);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void setEngine(GameEngine engine, BoardOrientation orientation) {
+        this.orientation = orientation;
+        this.engine = engine;
+        updateViewport(getWidth(), getHeight());
+        invalidate();
+    }
+
+    @Override
+    public void setOnCellClickListener(OnCellClickListener listener) {
+        this.cellClickListener = listener;
+    }
+
+    /**
+     * This method marks cells that have to be drawn again, e.g. all cells that were changed by one move
+     * The cells are collected until the next frame, which then invalidates their union rectangle once
+     * @param cells positions of the changed cells
+     */
+    @Override
+    public void invalidateCells(CellList cells) {
+        if (engine == null || !viewport.isReady() || cells.isEmpty()) {
+            return;
+        }
+        int cellSize = viewport.getCellSize();
+        for (int i = 0; i < cells.size(); i++) {
+            int position = cells.get(i);
+            int left = viewport.getOriginX() + orientation.getColumn(position) * cellSize;
+            int top = viewport.getOriginY() + orientation.getRow(position) * cellSize;
+            dirty.union(left, top, left + cellSize, top + cellSize);
+        }
+        if (!frameScheduled) {
+            frameScheduled = true;
+            postOnAnimation(invalidateDirty);
+        }
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateViewport(w, h);
+    }
+
+    private void updateViewport(int width, int height) {
+        if (engine != null) {
+            viewport.setSize(width, height, orientation);
+        }
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (engine == null || !viewport.isReady()) {
+            return;
+        }
+        //only the visible cells inside the clip have to be drawn
+        canvas.getClipBounds(clip);
+        renderer.draw(canvas, engine.getSnapshot(), orientation, viewport.getCellSize(), viewport.getOriginX(), viewport.getOriginY(),
+                clip, gestures.isZooming());
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        renderer.release();
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        return gestures.onTouchEvent(event) || super.onTouchEvent(event);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.secuso.privacyfriendlyminesweeper.activities.helper;
+
+import org.secuso.privacyfriendlyminesweeper.engine.BoardOrientation;
+
+/**
+ * @version 20261017
+ * This class describes which part of the playing field is visible in a view:
+ * the size of the cells and the scroll position, limited so that the playing field never leaves the view
+ * If the playing field is smaller than the view, it is centered
+ * All coordinates are in pixels of the view, rows and columns are those on the screen (see BoardOrientation)
+ */
+public final class BoardViewport {
+
+    //cells are never drawn smaller, the playing field is moved instead
+    private static final int MIN_CELL_DP = 8;
+    //cells can be zoomed up to this size
+    private static final int MAX_CELL_DP = 64;
+    //size of the cells when a game starts, if not all cells fit into the view with this size
+    private static final int DEFAULT_CELL_DP = 30;
+
+    private final float density;
+
+    private int width;
+    private int height;
+    private BoardOrientation orientation;
+    private int columns;
+    private int rows;
+
+    private int cellSize;
+    private int minCellSize;
+    private int maxCellSize;
+    //the cell size is changed in steps of whole pixels, the exact zoom is kept while scaling
+    private float scaledCellSize;
+    private int offsetX;
+    private int offsetY;
+    private int scrollX;
+    private int scrollY;
+
+    /**
+     * @param density density of the display, to convert dp into pixels
+     */
+    public BoardViewport(float density) {
+        this.density = density;
+    }
+
+    /**
+     * This method calculates the limits of the zoom for the size of the view and the playing field
+     * and starts with the whole playing field visible, if the cells are not too small for this
+     * @param width width of the view
+     * @param height height of the view
+     * @param orientation orientation in which the playing field is shown
+     */
+    public void setSize(int width, int height, BoardOrientation orientation) {
+        this.width = width;
+        this.height = height;
+        this.orientation = orientation;
+        this.columns = orientation.getNumberOfColumns();
+        this.rows = orientation.getNumberOfRows();
+        if (width == 0 || height == 0 || columns == 0 || rows == 0) {
+            cellSize = 0;
+            return;
+        }
+
+        int fittingCellSize = Math.min(width / columns, height / rows);
+        minCellSize = Math.max(fittingCellSize, Math.round(MIN_CELL_DP * density));
+        maxCellSize = Math.max(fittingCellSize, Math.round(MAX_CELL_DP * density));
+        cellSize = Math.max(minCellSize, Math.min(maxCellSize, Math.max(fittingCellSize, Math.round(DEFAULT_CELL_DP * density))));
+        scaledCellSize = cellSize;
+        updateOffsets();
+        scrollX = 0;
+        scrollY = 0;
+    }
+
+    /**
+     * @return true if the size of the view and the playing field are known
+     */
+    public boolean isReady() {
+        return cellSize > 0;
+    }
+
+    /**
+     * This method zooms by a factor and keeps the cell under the focus point in place
+     * @param factor factor of the zoom
+     * @param focusX x coordinate of the focus point
+     * @param focusY y coordinate of the focus point
+     * @return true if the size of the cells has changed
+     */
+    public boolean zoom(float factor, float focusX, float focusY) {
+        if (!isReady()) {
+            return false;
+        }
+        scaledCellSize = Math.max(minCellSize, Math.min(maxCellSize, scaledCellSize * factor));
+        int newCellSize = Math.round(scaledCellSize);
+        if (newCellSize == cellSize) {
+            return false;
+        }
+        float fieldX = (focusX + scrollX - offsetX) / cellSize;
+        float fieldY = (focusY + scrollY - offsetY) / cellSize;
+        cellSize = newCellSize;
+        updateOffsets();
+        scrollTo(Math.round(fieldX * cellSize + offsetX - focusX), Math.round(fieldY * cellSize + offsetY - focusY));
+        return true;
+    }
+
+    /**
+     * This method moves the visible part of the playing field
+     * @param x new horizontal scroll position
+     * @param y new vertical scroll position
+     * @return true if the scroll position has changed
+     */
+    public boolean scrollTo(int x, int y) {
+        x = Math.max(0, Math.min(getMaxScrollX(), x));
+        y = Math.max(0, Math.min(getMaxScrollY(), y));
+        if (x == scrollX && y == scrollY) {
+            return false;
+        }
+        scrollX = x;
+        scrollY = y;
+        return true;
+    }
+
+    private void updateOffsets() {
+        offsetX = Math.max(0, (width - cellSize * columns) / 2);
+        offsetY = Math.max(0, (height - cellSize * rows) / 2);
+    }
+
+    public BoardOrientation getOrientation() {
+        return orientation;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int getScrollX() {
+        return scrollX;
+    }
+
+    public int getScrollY() {
+        return scrollY;
+    }
+
+    public int getMaxScrollX() {
+        return Math.max(0, cellSize * columns - width);
+    }
+
+    public int getMaxScrollY() {
+        return Math.max(0, cellSize * rows - height);
+    }
+
+    /**
+     * @return x coordinate of the left edge of the first column in the view
+     */
+    public int getOriginX() {
+        return offsetX - scrollX;
+    }
+
+    /**
+     * @return y coordinate of the top edge of the first row in the view
+     */
+    public int getOriginY() {
+        return offsetY - scrollY;
+    }
+
+    /**
+     * This method finds the cell at a point of the view
+     * @param x x coordinate in the view
+     * @param y y coordinate in the view
+     * @return position of the cell on the board or -1 if there is no cell at this point
+     */
+    public int positionAt(float x, float y) {
+        if (!isReady()) {
+            return -1;
+        }
+        int column = (int) Math.floor((x - getOriginX()) / cellSize);
+        int row = (int) Math.floor((y - getOriginY()) / cellSize);
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return -1;
+        }
+        return orientation.toPosition(row, column);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.secuso.privacyfriendlyminesweeper.activities.helper;
+
+import org.secuso.privacyfriendlyminesweeper.engine.BoardOrientation;
+import org.secuso.privacyfriendlyminesweeper.engine.CellList;
+import org.secuso.privacyfriendlyminesweeper.engine.GameEngine;
+
+/**
+ * @version 20261017
+ * This interface is implemented by the views that can show the playing field of a running game
+ */
+public interface PlayingField {
+
+    /**
+     * This method connects the view to the game whose board is drawn
+     * @param engine the GameEngine of the running game
+     * @param orientation orientation in which the board of the engine is shown
+     */
+    void setEngine(GameEngine engine, BoardOrientation orientation);
+
+    void setOnCellClickListener(OnCellClickListener listener);
+
+    /**
+     * This method tells the view which cells were changed by a move and have to be drawn again
+     * @param cells positions of the changed cells
+     */
+    void invalidateCells(CellList cells);
+
+    /**
+     * Interface for the activity that handles clicks on the cells of the playing field
+     */
+    interface OnCellClickListener {
+        void onCellClick(int position);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.activities.helper;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.support.v4.content.ContextCompat;
+
+import org.secuso.privacyfriendlyminesweeper.R;
+import org.secuso.privacyfriendlyminesweeper.engine.Board;
+
+/**
+ * @version 20261017
+ * This class pre-renders all tiles of the playing field for one cell size into a single bitmap:
+ * the revealed backgrounds with the numbers 1-8 in their colours, the revealed mine, the covered background,
+ * the flag and the exploded mine
+ * Drawing a cell is then one copy out of the atlas, without resource lookups or allocations
+ */
+public final class TileAtlas {
+
+    //revealed cells use their value (0-8 or MINE) as tile, so these tiles follow after MINE
+    public static final int COVERED = Board.MINE + 1;
+    public static final int FLAG = Board.MINE + 2;
+    public static final int EXPLODED = Board.MINE + 3;
+
+    private static final int NUMBER_OF_TILES = EXPLODED + 1;
+    //tiles are arranged in a grid, so the bitmap does not get too wide for big cells
+    private static final int TILES_PER_ROW = 4;
+
+    private final int cellSize;
+    private final Bitmap atlas;
+    private final Rect source = new Rect();
+    private final Rect destination = new Rect();
+
+    /**
+     * Creates the atlas for cells of the given size
+     * @param context context to load the colours and drawables
+     * @param cellSize width and height of one cell in pixels, including the gap
+     * @param gap space in pixels that is left empty on each side of a cell
+     */
+    public TileAtlas(Context context, int cellSize, int gap) {
+        this.cellSize = cellSize;
+        int rows = (NUMBER_OF_TILES + TILES_PER_ROW - 1) / TILES_PER_ROW;
+        atlas = Bitmap.createBitmap(TILES_PER_ROW * cellSize, rows * cellSize, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(atlas);
+
+        Paint covered = new Paint();
+        covered.setColor(ContextCompat.getColor(context, R.color.colorAccent));
+        Paint revealed = new Paint();
+        revealed.setColor(ContextCompat.getColor(context, R.color.middleblue));
+
+        Paint number = new Paint(Paint.ANTI_ALIAS_FLAG);
+        number.setTextAlign(Paint.Align.CENTER);
+        number.setTextSize(cellSize / 2);
+        int[] numberColors = {
+                0,
+                ContextCompat.getColor(context, R.color.darkblue),
+                ContextCompat.getColor(context, R.color.darkgreen),
+                ContextCompat.getColor(context, R.color.red),
+                ContextCompat.getColor(context, R.color.darkblue),
+                ContextCompat.getColor(context, R.color.brown),
+                ContextCompat.getColor(context, R.color.cyan),
+                ContextCompat.getColor(context, R.color.black),
+                ContextCompat.getColor(context, R.color.black)};
+
+        for (int tile = 0; tile < NUMBER_OF_TILES; tile++) {
+            tileBounds(tile, source);
+            Rect cell = new Rect(source.left + gap, source.top + gap, source.right - gap, source.bottom - gap);
+
+            if (tile <= Board.MINE) {
+                canvas.drawRect(cell, revealed);
+            } else {
+                canvas.drawRect(cell, covered);
+            }
+
+            if (tile > 0 && tile < Board.MINE) {
+                number.setColor(numberColors[tile]);
+                float baseline = cell.exactCenterY() - (number.descent() + number.ascent()) / 2;
+                canvas.drawText(String.valueOf(tile), cell.exactCenterX(), baseline, number);
+            } else if (tile == Board.MINE) {
+                drawIcon(canvas, ContextCompat.getDrawable(context, R.drawable.mine), cell);
+            } else if (tile == FLAG) {
+                drawIcon(canvas, ContextCompat.getDrawable(context, R.drawable.flagge), cell);
+            } else if (tile == EXPLODED) {
+                drawIcon(canvas, ContextCompat.getDrawable(context, R.drawable.mine_x), cell);
+            }
+        }
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * This method draws a tile, stretched if size differs from the size of the atlas (e.g. while zooming)
+     * @param canvas the canvas to draw on
+     * @param tile value of a revealed cell, COVERED, FLAG or EXPLODED
+     * @param left left edge of the cell
+     * @param top top edge of the cell
+     * @param size width and height of the cell
+     */
+    public void draw(Canvas canvas, int tile, int left, int top, int size) {
+        tileBounds(tile, source);
+        destination.set(left, top, left + size, top + size);
+        canvas.drawBitmap(atlas, source, destination, null);
+    }
+
+    /**
+     * This method frees the memory of the bitmap, the atlas must not be used afterwards
+     */
+    public void recycle() {
+        atlas.recycle();
+    }
+
+    private void tileBounds(int tile, Rect bounds) {
+        int left = (tile % TILES_PER_ROW) * cellSize;
+        int top = (tile / TILES_PER_ROW) * cellSize;
+        bounds.set(left, top, left + cellSize, top + cellSize);
+    }
+
+    /**
+     * This method draws a drawable centered in a cell, scaled to the height of the cell
+     */
+    private static void drawIcon(Canvas canvas, Drawable icon, Rect cell) {
+        int height = cell.height();
+        int width = icon.getIntrinsicWidth() * height / icon.getIntrinsicHeight();
+        int x = cell.centerX() - width / 2;
+        icon.setBounds(x, cell.top, x + width, cell.bottom);
+        icon.draw(canvas);
+    }
+}
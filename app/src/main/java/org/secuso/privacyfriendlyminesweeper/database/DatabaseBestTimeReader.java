@@ -43,8 +43,6 @@ public class DatabaseBestTimeReader extends AsyncTask<String, Void, Integer> {
 
         int bestTime = helper.readBestTime(params[0]);
 
-        helper.close();
-
         return bestTime;
 
     }
@@ -0,0 +1,88 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.database;
+
+import android.os.AsyncTask;
+import android.util.Log;
+
+import org.secuso.privacyfriendlyminesweeper.activities.PlayActivity;
+import org.secuso.privacyfriendlyminesweeper.engine.GameEngine;
+import org.secuso.privacyfriendlyminesweeper.engine.GameJournal;
+import org.secuso.privacyfriendlyminesweeper.engine.SavedGameCodec;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.DateFormat;
+import java.util.Date;
+
+/**
+ * @version 20261017
+ * This class recovers the games whose journals were left behind by a killed process and adds them to the saved games
+ * (in background / asynchronous). Journals of games that are still played are skipped
+ */
+public class DatabaseJournalRecovery extends AsyncTask<File, Void, Void> {
+
+    private final PFMSQLiteHelper helper;
+
+    public DatabaseJournalRecovery(PFMSQLiteHelper helper){
+        this.helper = helper;
+    }
+
+    @Override
+    protected Void doInBackground(File[] directories) {
+
+        File[] journals = directories[0].listFiles();
+        if (journals == null) {
+            return null;
+        }
+        for (File journal : journals) {
+            if (journal.getName().endsWith(PlayActivity.JOURNAL_SUFFIX)) {
+                recover(journal);
+            }
+        }
+        return null;
+    }
+
+    private void recover(File journal) {
+        try {
+            GameJournal.Recovery recovery = GameJournal.recover(journal);
+            if (recovery == null) {
+                //no journal or its game is still played
+                return;
+            }
+
+            GameEngine engine = recovery.getEngine();
+            if (!engine.isGameEnded()) {
+                int numberOfCells = engine.getBoard().getNumberOfCells();
+                PFMSavedGameDataType dataSavedGame = new PFMSavedGameDataType();
+                dataSavedGame.setGAME_MODE(recovery.getGameMode());
+                dataSavedGame.setTIME(recovery.getSeconds());
+                dataSavedGame.setDATE(DateFormat.getDateTimeInstance().format(new Date(journal.lastModified())));
+                dataSavedGame.setPROGRESS(String.valueOf(((double) numberOfCells - engine.getCountDownToWin()) / numberOfCells));
+                dataSavedGame.setSAVED_GAME_DATA(SavedGameCodec.encodeGame(engine, true));
+
+                helper.addSavedGameData(dataSavedGame);
+            }
+        } catch (IOException e) {
+            Log.d("IOException", e.getMessage() + "  \n" + e.getCause());
+        }
+
+        //a journal that could not be read would fail again next time
+        journal.delete();
+    }
+}
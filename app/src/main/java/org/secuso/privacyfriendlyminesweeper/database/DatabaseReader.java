@@ -19,47 +19,42 @@ package org.secuso.privacyfriendlyminesweeper.database;
 
 import android.os.AsyncTask;
 
-import org.json.JSONException;
-import org.json.JSONObject;
+import java.util.List;
 
 
 /**
  * @author I3ananas
- * @version 20180530
+ * @version 20261017
  * This class reads statistics data from the database (in background / asynchronous)
+ * The general statistics and top times are read as data sets, not as a dump of the whole database
  */
-public class DatabaseReader extends AsyncTask<String, Void, JSONObject> {
+public class DatabaseReader extends AsyncTask<Void, Void, Void> {
 
     public interface DatabaseReaderReceiver{
-        void setStatistics(JSONObject statisticsData);
+        void setStatistics(List<PFMGeneralStatisticsDataType> generalStatistics, List<PFMTopTimeDataType> topTimes);
     }
 
     private final DatabaseReaderReceiver databaseReaderReceiver;
     private final PFMSQLiteHelper helper;
 
+    private List<PFMGeneralStatisticsDataType> generalStatistics;
+    private List<PFMTopTimeDataType> topTimes;
+
     public DatabaseReader(PFMSQLiteHelper helper, DatabaseReaderReceiver databaseReaderReceiver){
         this.helper = helper;
         this.databaseReaderReceiver = databaseReaderReceiver;
     }
 
     @Override
-    protected JSONObject doInBackground(String[] params) {
-
-        JSONObject statisticsData = null;
-
-        try{
-            statisticsData = new DatabaseExporter(String.valueOf(params[0]), "PF_MINESWEEPER_DB").dbToJSON();
-        }
-        catch(JSONException e){
-
-        }
-
-        helper.close();
-        return statisticsData;
+    protected Void doInBackground(Void... params) {
+        generalStatistics = helper.getAllGeneralStatisticsData();
+        //ordered by game mode and playing time
+        topTimes = helper.getAllTopTimeData();
+        return null;
     }
 
     @Override
-    protected void onPostExecute(JSONObject statisticsData){
-        databaseReaderReceiver.setStatistics(statisticsData);
+    protected void onPostExecute(Void result){
+        databaseReaderReceiver.setStatistics(generalStatistics, topTimes);
     }
 }
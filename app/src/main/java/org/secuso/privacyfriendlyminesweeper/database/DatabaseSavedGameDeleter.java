@@ -0,0 +1,39 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.database;
+
+import android.os.AsyncTask;
+
+/**
+ * @version 20261017
+ * This class deletes a saved game from the database once it is continued (in background / asynchronous)
+ */
+public class DatabaseSavedGameDeleter extends AsyncTask<Integer, Void, Void> {
+
+    private final PFMSQLiteHelper helper;
+
+    public DatabaseSavedGameDeleter(PFMSQLiteHelper helper){
+        this.helper = helper;
+    }
+
+    @Override
+    protected Void doInBackground(Integer[] id) {
+        helper.deleteSavedGameData(id[0]);
+        return null;
+    }
+}
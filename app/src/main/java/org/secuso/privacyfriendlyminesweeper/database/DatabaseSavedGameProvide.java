@@ -22,33 +22,33 @@ import android.os.AsyncTask;
 /**
  * @author I3ananas
  * @version 20180809
- * This class exports and provides a saved game and deletes it from the database (in background / asynchronous)
+ * This class exports and provides a saved game (in background / asynchronous)
+ * The saved game stays in the database until the receiver could read it (see DatabaseSavedGameDeleter)
  */
-public class DatabaseSavedGameProvide extends AsyncTask<Integer, Void, String[]> {
+public class DatabaseSavedGameProvide extends AsyncTask<Integer, Void, PFMSavedGameDataType> {
 
+    public interface SavedGameProvideReceiver{
+        void loadSavedGame(PFMSavedGameDataType savedGame);
+    }
+
+    private final SavedGameProvideReceiver savedGameProvideReceiver;
     private final PFMSQLiteHelper helper;
 
-    public DatabaseSavedGameProvide(PFMSQLiteHelper helper){
+    public DatabaseSavedGameProvide(PFMSQLiteHelper helper, SavedGameProvideReceiver savedGameProvideReceiver){
         this.helper = helper;
+        this.savedGameProvideReceiver = savedGameProvideReceiver;
     }
 
     @Override
-    protected String[] doInBackground(Integer[] position) {
-        String[] savedGameData = new String[6];
+    protected PFMSavedGameDataType doInBackground(Integer[] position) {
 
-        PFMSavedGameDataType savedGame = helper.getSavedGameData(position[0]);
-        savedGameData[0] = savedGame.getGAME_MODE();
-        savedGameData[1] = String.valueOf(savedGame.getTIME());
-        savedGameData[2] = savedGame.getDATE();
-        savedGameData[3] = savedGame.getPROGRESS();
-        savedGameData[4] = savedGame.getSAVED_GAME_CONTENT();
-        savedGameData[5] = savedGame.getSAVED_GAME_STATUS();
+        return helper.getSavedGameData(position[0]);
+    }
 
-        //requested saved game is deleted from the database
-        helper.deleteSavedGameData(position[0]);
+    @Override
+    protected void onPostExecute(PFMSavedGameDataType savedGame){
 
-        helper.close();
+        savedGameProvideReceiver.loadSavedGame(savedGame);
 
-        return savedGameData;
     }
 }
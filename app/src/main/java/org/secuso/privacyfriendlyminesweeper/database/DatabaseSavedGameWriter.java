@@ -21,6 +21,8 @@ import android.os.AsyncTask;
 
 import org.secuso.privacyfriendlyminesweeper.activities.PlayActivity;
 
+import java.io.File;
+
 /**
  * @author I3ananas
  * @version 20180806
@@ -44,12 +46,16 @@ public class DatabaseSavedGameWriter extends AsyncTask<Object, Void, Void> {
         dataSavedGame.setTIME((Integer)params[1]);
         dataSavedGame.setDATE(String.valueOf(params[2]));
         dataSavedGame.setPROGRESS(String.valueOf(params[3]));
-        dataSavedGame.setSAVED_GAME_CONTENT(String.valueOf(params[4]));
-        dataSavedGame.setSAVED_GAME_STATUS(String.valueOf(params[5]));
+        dataSavedGame.setSAVED_GAME_DATA((byte[]) params[4]);
 
         helper.addSavedGameData(dataSavedGame);
 
-        helper.close();
+        //the journal of the game is only needed until the game is in the database
+        //its writes are done, they run on the same executor before this task
+        File journalFile = (File) params[5];
+        if (journalFile != null) {
+            journalFile.delete();
+        }
 
         return null;
     }
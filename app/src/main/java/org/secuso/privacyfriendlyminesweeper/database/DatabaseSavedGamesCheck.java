@@ -47,7 +47,6 @@ public class DatabaseSavedGamesCheck extends AsyncTask<Void, Void, Boolean> {
             savedGamesExist = true;
         }
 
-        helper.close();
         return savedGamesExist;
     }
 
@@ -19,18 +19,22 @@ package org.secuso.privacyfriendlyminesweeper.database;
 
 import android.os.AsyncTask;
 
-import org.json.JSONException;
-import org.json.JSONObject;
+import java.util.List;
 
 /**
  * @author I3ananas
- * @version 20180806
- * This class reads all saved games from the database (in background / asynchronous)
+ * @version 20261017
+ * This class reads one page of saved games from the database (in background / asynchronous)
+ * Only the summary of each saved game is read, the playing field is read when the game is continued
+ * The parameter of execute is the id of the last saved game of the previous page (0 for the first page)
  */
-public class DatabaseSavedGamesReader extends AsyncTask<String, Void, JSONObject> {
+public class DatabaseSavedGamesReader extends AsyncTask<Integer, Void, List<PFMSavedGameDataType>> {
+
+    //a page with fewer saved games is the last one
+    public static final int PAGE_SIZE = 50;
 
     public interface DatabaseSavedGamesReaderReceiver{
-        void displaySavedGames(JSONObject savedGames);
+        void displaySavedGames(List<PFMSavedGameDataType> savedGames);
     }
 
     private final DatabaseSavedGamesReader.DatabaseSavedGamesReaderReceiver databaseSavedGamesReaderReceiver;
@@ -42,23 +46,12 @@ public class DatabaseSavedGamesReader extends AsyncTask<String, Void, JSONObject
     }
 
     @Override
-    protected JSONObject doInBackground(String[] params) {
-
-        JSONObject savedGames = null;
-
-        try{
-            savedGames = new DatabaseExporter(String.valueOf(params[0]), "PF_MINESWEEPER_DB").dbToJSON();
-        }
-        catch(JSONException e){
-
-        }
-
-        helper.close();
-        return savedGames;
+    protected List<PFMSavedGameDataType> doInBackground(Integer... params) {
+        return helper.getSavedGameSummaries(params[0], PAGE_SIZE);
     }
 
     @Override
-    protected void onPostExecute(JSONObject savedGames){
+    protected void onPostExecute(List<PFMSavedGameDataType> savedGames){
         databaseSavedGamesReaderReceiver.displaySavedGames(savedGames);
     }
 }
@@ -21,8 +21,6 @@ import android.os.AsyncTask;
 
 import org.secuso.privacyfriendlyminesweeper.activities.PlayActivity;
 
-import java.util.List;
-
 /**
  * @author I3ananas
  * @version 20180524
@@ -47,57 +45,10 @@ public class DatabaseWriter extends AsyncTask<Object, Void, Void> {
         int playing_time = (Integer)params[5];
         String date = String.valueOf(params[6]);
 
-        //general statistics are updated in any case
-        PFMGeneralStatisticsDataType data_gs;
-
-        //if there is no data set for game_mode add one, otherwise update the existing one
-        if(helper.checkIfGeneralStatsContainedInDatabase(game_mode) == 0){
-            //id is set automatically in the database but constructor requires a parameter, used 0 randomly
-            data_gs = new PFMGeneralStatisticsDataType(0, game_mode, played, won, uncovered_fields, playing_time_wins, playing_time);
-            helper.addGeneralStatisticsData(data_gs);
-        }
-        else{
-            data_gs = helper.getGeneralStatisticsData(helper.checkIfGeneralStatsContainedInDatabase(game_mode));
-            data_gs.setNR_OF_PLAYED_GAMES(data_gs.getNR_OF_PLAYED_GAMES() + played);
-            data_gs.setNR_OF_WON_GAMES(data_gs.getNR_OF_WON_GAMES() + won);
-            data_gs.setNR_OF_UNCOVERED_FIELDS(data_gs.getNR_OF_UNCOVERED_FIELDS() + uncovered_fields);
-            data_gs.setWINS_PLAYING_TIME(data_gs.getWINS_PLAYING_TIME() + playing_time_wins);
-            data_gs.setTOTAL_PLAYING_TIME(data_gs.getTOTAL_PLAYING_TIME() + playing_time);
-            helper.updateGeneralStatisticsData(data_gs);
-        }
-
-        //if game was won (String date does not equal "lost")
-        if(!date.equals("lost")){
-
-            PFMTopTimeDataType data_tt = null;
-
-            String[] gm = {game_mode};
-            List<PFMTopTimeDataType> list = helper.getAllTopTimeData(gm);
-
-            //add data set to data base or update worst data set in database if playing time is in the top ten
-            if(list.size() < 10){
-                //id is set automatically in the database but constructor requires a parameter, used 0 randomly
-                data_tt = new PFMTopTimeDataType(0, game_mode, playing_time, date);
-                helper.addTopTimeData(data_tt);
-            }
-            if(list.size() >= 10){
-                int maxTime = playing_time;
-                for(int i = 0; i < list.size(); i++){
-                    if(maxTime < list.get(i).getTIME()){
-                        maxTime = list.get(i).getTIME();
-                        data_tt = list.get(i);
-                    }
-                }
-                if(maxTime > playing_time){
-                    data_tt.setGAME_MODE(game_mode);
-                    data_tt.setTIME(playing_time);
-                    data_tt.setDATE(date);
-                    helper.updateTopTimeData(data_tt);
-                }
-            }
-        }
-
-        helper.close();
+        //general statistics are updated in any case, top times only if the game was won (String date does not equal "lost")
+        //all in one transaction
+        helper.addGameResult(game_mode, played, won, uncovered_fields, playing_time_wins, playing_time,
+                date.equals("lost") ? null : date);
 
         return null;
     }
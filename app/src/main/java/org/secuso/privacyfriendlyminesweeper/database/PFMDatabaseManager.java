@@ -0,0 +1,71 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.database;
+
+import android.content.Context;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @version 20261017
+ * This class holds the database of the app: one PFMSQLiteHelper with one connection that stays open
+ * (write-ahead logging enabled) and one background thread on which all reads and writes are executed
+ * The database tasks (DatabaseWriter, DatabaseReader, ...) are executed with executeOnExecutor(getExecutor(), ...),
+ * so they run one after the other in the order they were started and never close the connection
+ */
+public class PFMDatabaseManager {
+
+    private static PFMDatabaseManager instance;
+
+    private final PFMSQLiteHelper helper;
+    private final ExecutorService executor;
+
+    private PFMDatabaseManager(Context context) {
+        helper = new PFMSQLiteHelper(context);
+        //readers do not wait for writers and a write does not lock the database file
+        helper.setWriteAheadLoggingEnabled(true);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * This method returns the database of the app, it is created on the first call
+     * @param context any context, only its application context is kept
+     * @return the database manager
+     */
+    public static synchronized PFMDatabaseManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new PFMDatabaseManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * @return the helper with the shared connection, must not be closed
+     */
+    public PFMSQLiteHelper getHelper() {
+        return helper;
+    }
+
+    /**
+     * @return the serial executor for all database tasks
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+}
@@ -20,9 +20,9 @@ package org.secuso.privacyfriendlyminesweeper.database;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
-import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,8 +37,6 @@ import java.util.List;
  */
 public class PFMSQLiteHelper extends SQLiteOpenHelper {
 
-    private static final int DATABASE_VERSION = 1;
-
     //Name of the database
     private static final String DATABASE_NAME = "PF_MINESWEEPER_DB";
 
@@ -67,6 +65,53 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
     private static final String KEY_PROGRESS = "progress";
     private static final String KEY_SAVED_GAME_CONTENT = "saved_game_content";
     private static final String KEY_SAVED_GAME_STATUS = "saved_game_status";
+    private static final String KEY_SAVED_GAME_DATA = "saved_game_data";
+
+    //MIGRATIONS[i] changes the database from version i + 1 to version i + 2, existing data is always kept
+    //a new database is created in version 1 and migrated as well, so all databases have the same structure
+    private static final String[][] MIGRATIONS = {
+            //version 2 stores saved games as binary data (see SavedGameCodec), games saved before stay in the text columns
+            {"ALTER TABLE " + TABLE_SAVED_GAMES + " ADD COLUMN " + KEY_SAVED_GAME_DATA + " BLOB"},
+            //version 3 has one data set of general statistics per game mode, so it can be updated without reading it first
+            //the data sets of a game mode are added up in the one with the lowest id, the others are deleted
+            {"UPDATE " + TABLE_GENERAL_STATISTICS + " SET " +
+                    KEY_NR_OF_PLAYED_GAMES + " = " + sumOfGameMode(KEY_NR_OF_PLAYED_GAMES) + ", " +
+                    KEY_NR_OF_WON_GAMES + " = " + sumOfGameMode(KEY_NR_OF_WON_GAMES) + ", " +
+                    KEY_NR_OF_UNCOVERED_FIELDS + " = " + sumOfGameMode(KEY_NR_OF_UNCOVERED_FIELDS) + ", " +
+                    KEY_WINS_PLAYING_TIME + " = " + sumOfGameMode(KEY_WINS_PLAYING_TIME) + ", " +
+                    KEY_TOTAL_PLAYING_TIME + " = " + sumOfGameMode(KEY_TOTAL_PLAYING_TIME) +
+                    " WHERE " + KEY_ID + " IN (SELECT MIN(" + KEY_ID + ") FROM " + TABLE_GENERAL_STATISTICS +
+                    " GROUP BY " + KEY_GAME_MODE + ")",
+             "DELETE FROM " + TABLE_GENERAL_STATISTICS + " WHERE " + KEY_ID + " NOT IN (SELECT MIN(" + KEY_ID + ") FROM " +
+                    TABLE_GENERAL_STATISTICS + " GROUP BY " + KEY_GAME_MODE + ")",
+             "CREATE UNIQUE INDEX IF NOT EXISTS general_statistics_game_mode ON " + TABLE_GENERAL_STATISTICS +
+                    "(" + KEY_GAME_MODE + ")"},
+            //version 4 finds the top times of a game mode ordered by playing time without reading the whole table
+            {"CREATE INDEX IF NOT EXISTS top_times_game_mode_playing_time ON " + TABLE_TOP_TIMES +
+                    "(" + KEY_GAME_MODE_TOP_TIME + ", " + KEY_PLAYING_TIME + ")"},
+    };
+
+    private static final int DATABASE_VERSION = MIGRATIONS.length + 1;
+
+    /**
+     * This method builds the subquery that adds up a column over all data sets of general statistics
+     * with the game mode of the data set that is updated
+     * @param column the column to add up
+     * @return the subquery in parentheses
+     */
+    private static String sumOfGameMode(String column) {
+        return "(SELECT SUM(duplicate." + column + ") FROM " + TABLE_GENERAL_STATISTICS + " duplicate WHERE duplicate." +
+                KEY_GAME_MODE + " = " + TABLE_GENERAL_STATISTICS + "." + KEY_GAME_MODE + ")";
+    }
+
+    //if there are more saved games, the oldest ones are deleted
+    public static final int MAX_SAVED_GAMES = 500;
+
+    //statements for the result of a finished game, compiled once on the shared connection
+    private SQLiteStatement updateGeneralStatistics;
+    private SQLiteStatement insertGeneralStatistics;
+    private SQLiteStatement insertTopTime;
+    private SQLiteStatement replaceWorstTopTime;
 
     public PFMSQLiteHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
@@ -101,18 +146,128 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
                 KEY_SAVED_GAME_CONTENT + " TEXT," +
                 KEY_SAVED_GAME_STATUS + " TEXT);";
 
+        //tables of version 1
         sqLiteDatabase.execSQL(CREATE_GENERAL_STATISTICS_TABLE);
         sqLiteDatabase.execSQL(CREATE_TOP_TIMES_TABLE);
         sqLiteDatabase.execSQL(CREATE_SAVED_GAMES_TABLE);
+
+        migrate(sqLiteDatabase, 1, DATABASE_VERSION);
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase sqLiteDatabase, int oldVersion, int newVersion) {
-        sqLiteDatabase.execSQL("DROP TABLE IF EXISTS " + TABLE_GENERAL_STATISTICS);
-        sqLiteDatabase.execSQL("DROP TABLE IF EXISTS " + TABLE_TOP_TIMES);
-        sqLiteDatabase.execSQL("DROP TABLE IF EXISTS " + TABLE_SAVED_GAMES);
+        migrate(sqLiteDatabase, oldVersion, newVersion);
+    }
+
+    /**
+     * This method runs the migrations from one version of the database to another one
+     * It is called inside the transaction of onCreate / onUpgrade, so a failed migration changes nothing
+     * @param sqLiteDatabase the database
+     * @param oldVersion version of the database now
+     * @param newVersion version the database is migrated to
+     */
+    private static void migrate(SQLiteDatabase sqLiteDatabase, int oldVersion, int newVersion) {
+        for (int version = oldVersion; version < newVersion; version++) {
+            for (String statement : MIGRATIONS[version - 1]) {
+                sqLiteDatabase.execSQL(statement);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (updateGeneralStatistics != null) {
+            updateGeneralStatistics.close();
+            insertGeneralStatistics.close();
+            insertTopTime.close();
+            replaceWorstTopTime.close();
+            updateGeneralStatistics = null;
+        }
+        super.close();
+    }
+
+    /**
+     * Adds the result of a finished game to the general statistics and (if it was won) to the top times
+     * Everything is done in one transaction with precompiled statements, no data set is read first:
+     * - the general statistics of the game mode are incremented, if there are none yet they are added
+     * - a won game is added to the top times if there are less than 10 of its game mode,
+     *   otherwise it replaces the worst top time if it is faster
+     * @param game_mode Game mode of the finished game
+     * @param played number of played games to add
+     * @param won number of won games to add
+     * @param uncovered_fields number of uncovered fields to add
+     * @param playing_time_wins playing time in seconds to add to the playing time of won games
+     * @param playing_time playing time in seconds to add to the total playing time
+     * @param date date and time of a won game for the top times, null if the game was lost
+     */
+    public void addGameResult(String game_mode, int played, int won, int uncovered_fields, int playing_time_wins,
+                              int playing_time, String date) {
+        SQLiteDatabase database = this.getWritableDatabase();
+        compileGameResultStatements(database);
+
+        database.beginTransaction();
+        try {
+            updateGeneralStatistics.bindLong(1, played);
+            updateGeneralStatistics.bindLong(2, won);
+            updateGeneralStatistics.bindLong(3, uncovered_fields);
+            updateGeneralStatistics.bindLong(4, playing_time_wins);
+            updateGeneralStatistics.bindLong(5, playing_time);
+            updateGeneralStatistics.bindString(6, game_mode);
+            if (updateGeneralStatistics.executeUpdateDelete() == 0) {
+                insertGeneralStatistics.bindString(1, game_mode);
+                insertGeneralStatistics.bindLong(2, played);
+                insertGeneralStatistics.bindLong(3, won);
+                insertGeneralStatistics.bindLong(4, uncovered_fields);
+                insertGeneralStatistics.bindLong(5, playing_time_wins);
+                insertGeneralStatistics.bindLong(6, playing_time);
+                insertGeneralStatistics.executeInsert();
+            }
+
+            if (date != null) {
+                insertTopTime.bindString(1, game_mode);
+                insertTopTime.bindLong(2, playing_time);
+                insertTopTime.bindString(3, date);
+                insertTopTime.bindString(4, game_mode);
+                //nothing is inserted if there are already 10 top times
+                if (insertTopTime.executeInsert() == -1) {
+                    replaceWorstTopTime.bindLong(1, playing_time);
+                    replaceWorstTopTime.bindString(2, date);
+                    replaceWorstTopTime.bindString(3, game_mode);
+                    replaceWorstTopTime.bindLong(4, playing_time);
+                    replaceWorstTopTime.executeUpdateDelete();
+                }
+            }
+
+            database.setTransactionSuccessful();
+        } finally {
+            database.endTransaction();
+        }
+    }
 
-        onCreate(sqLiteDatabase);
+    private void compileGameResultStatements(SQLiteDatabase database) {
+        if (updateGeneralStatistics != null) {
+            return;
+        }
+        updateGeneralStatistics = database.compileStatement("UPDATE " + TABLE_GENERAL_STATISTICS + " SET " +
+                KEY_NR_OF_PLAYED_GAMES + " = " + KEY_NR_OF_PLAYED_GAMES + " + ?, " +
+                KEY_NR_OF_WON_GAMES + " = " + KEY_NR_OF_WON_GAMES + " + ?, " +
+                KEY_NR_OF_UNCOVERED_FIELDS + " = " + KEY_NR_OF_UNCOVERED_FIELDS + " + ?, " +
+                KEY_WINS_PLAYING_TIME + " = " + KEY_WINS_PLAYING_TIME + " + ?, " +
+                KEY_TOTAL_PLAYING_TIME + " = " + KEY_TOTAL_PLAYING_TIME + " + ? " +
+                "WHERE " + KEY_GAME_MODE + " = ?");
+        insertGeneralStatistics = database.compileStatement("INSERT INTO " + TABLE_GENERAL_STATISTICS + " (" +
+                KEY_GAME_MODE + ", " + KEY_NR_OF_PLAYED_GAMES + ", " + KEY_NR_OF_WON_GAMES + ", " +
+                KEY_NR_OF_UNCOVERED_FIELDS + ", " + KEY_WINS_PLAYING_TIME + ", " + KEY_TOTAL_PLAYING_TIME + ") " +
+                "VALUES (?, ?, ?, ?, ?, ?)");
+        insertTopTime = database.compileStatement("INSERT INTO " + TABLE_TOP_TIMES + " (" +
+                KEY_GAME_MODE_TOP_TIME + ", " + KEY_PLAYING_TIME + ", " + KEY_DATE + ") " +
+                "SELECT ?, ?, ? WHERE (SELECT COUNT(*) FROM " + TABLE_TOP_TIMES +
+                " WHERE " + KEY_GAME_MODE_TOP_TIME + " = ?) < 10");
+        //the worst top time is the longest one, of equal times the oldest one
+        replaceWorstTopTime = database.compileStatement("UPDATE " + TABLE_TOP_TIMES + " SET " +
+                KEY_PLAYING_TIME + " = ?, " + KEY_DATE + " = ? WHERE " + KEY_ID + " = (SELECT " + KEY_ID +
+                " FROM " + TABLE_TOP_TIMES + " WHERE " + KEY_GAME_MODE_TOP_TIME + " = ? ORDER BY " +
+                KEY_PLAYING_TIME + " DESC, " + KEY_ID + " ASC LIMIT 1) AND " + KEY_PLAYING_TIME + " > ?");
     }
 
     /**
@@ -133,7 +288,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
         values.put(KEY_TOTAL_PLAYING_TIME, generalStats.getTOTAL_PLAYING_TIME());
 
         database.insert(TABLE_GENERAL_STATISTICS, null, values);
-        database.close();
     }
 
     /**
@@ -155,7 +309,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
         values.put(KEY_TOTAL_PLAYING_TIME, generalStats.getTOTAL_PLAYING_TIME());
 
         database.insert(TABLE_GENERAL_STATISTICS, null, values);
-        database.close();
     }
 
     /**
@@ -183,7 +336,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
             dataSetGeneralStats.setTOTAL_PLAYING_TIME(Integer.parseInt(cursor.getString(6)));
 
             cursor.close();
-            database.close();
         }
         return dataSetGeneralStats;
     }
@@ -216,7 +368,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
             } while (cursor.moveToNext());
         }
         cursor.close();
-        database.close();
         return generalStatsDataList;
     }
 
@@ -249,7 +400,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
         SQLiteDatabase database = this.getWritableDatabase();
         database.delete(TABLE_GENERAL_STATISTICS, KEY_ID + " = ?",
                 new String[] { Integer.toString(dataSetGeneralStats.getID()) });
-        database.close();
     }
 
     /**
@@ -258,7 +408,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
     public void deleteAllGeneralStatisticsData() {
         SQLiteDatabase database = this.getWritableDatabase();
         database.execSQL("delete from "+ TABLE_GENERAL_STATISTICS);
-        database.close();
     }
 
     /**
@@ -282,7 +431,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
             } while (cursor.moveToNext());
         }
         cursor.close();
-        database.close();
 
         return id;
     }
@@ -302,7 +450,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
         values.put(KEY_DATE, topTime.getDATE());
 
         database.insert(TABLE_TOP_TIMES, null, values);
-        database.close();
     }
 
     /**
@@ -313,7 +460,8 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
     public List<PFMTopTimeDataType> getAllTopTimeData(String[] game_mode) {
         List<PFMTopTimeDataType> topTimeDataList = new ArrayList<PFMTopTimeDataType>();
 
-        String selectQuery = "SELECT  * FROM " + TABLE_TOP_TIMES + " WHERE " + KEY_GAME_MODE_TOP_TIME  + "=?";
+        String selectQuery = "SELECT  * FROM " + TABLE_TOP_TIMES + " WHERE " + KEY_GAME_MODE_TOP_TIME  + "=?" +
+                " ORDER BY " + KEY_PLAYING_TIME;
 
         SQLiteDatabase database = this.getWritableDatabase();
         Cursor cursor = database.rawQuery(selectQuery, game_mode);
@@ -331,18 +479,18 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
             } while (cursor.moveToNext());
         }
         cursor.close();
-        database.close();
         return topTimeDataList;
     }
 
     /**
      * This method returns all top time data sets from the DB as a list
+     * The data sets are ordered by game mode and playing time (read from the index on both columns)
      * @return A list of all available top time data sets in the database
      */
     public List<PFMTopTimeDataType> getAllTopTimeData() {
         List<PFMTopTimeDataType> topTimeDataList = new ArrayList<PFMTopTimeDataType>();
 
-        String selectQuery = "SELECT  * FROM " + TABLE_TOP_TIMES;
+        String selectQuery = "SELECT  * FROM " + TABLE_TOP_TIMES + " ORDER BY " + KEY_GAME_MODE_TOP_TIME + ", " + KEY_PLAYING_TIME;
 
         SQLiteDatabase database = this.getWritableDatabase();
         Cursor cursor = database.rawQuery(selectQuery, null);
@@ -360,7 +508,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
             } while (cursor.moveToNext());
         }
         cursor.close();
-        database.close();
         return topTimeDataList;
     }
 
@@ -373,7 +520,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
         SQLiteDatabase database = this.getWritableDatabase();
         database.delete(TABLE_TOP_TIMES, KEY_ID + " = ?",
                 new String[] { Integer.toString(dataSetTopTime.getID()) });
-        database.close();
     }
 
     /**
@@ -382,7 +528,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
     public void deleteAllTopTimeData(){
         SQLiteDatabase database = this.getWritableDatabase();
         database.execSQL("delete from "+ TABLE_TOP_TIMES);
-        database.close();
     }
 
     /**
@@ -409,28 +554,21 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
     public int readBestTime(String game_mode){
         int bestTime = Integer.MAX_VALUE;
         SQLiteDatabase database = this.getWritableDatabase();
-        Cursor cursor = database.query(TABLE_TOP_TIMES, new String[]{KEY_ID, KEY_GAME_MODE_TOP_TIME,
-                        KEY_PLAYING_TIME, KEY_DATE}, KEY_GAME_MODE_TOP_TIME + "=?",
-                        new String[]{game_mode}, null, null, null, null);
+        //the minimum is read from the index on game mode and playing time
+        Cursor cursor = database.rawQuery("SELECT MIN(" + KEY_PLAYING_TIME + ") FROM " + TABLE_TOP_TIMES +
+                " WHERE " + KEY_GAME_MODE_TOP_TIME + "=?", new String[]{game_mode});
 
-        if(cursor.moveToFirst()) {
-            do {
-                if (cursor.getString(1).equals(game_mode)) {
-                    if(cursor.getInt(2) < bestTime){
-                        bestTime = cursor.getInt(2);
-                    }
-                }
-            } while (cursor.moveToNext());
+        if(cursor.moveToFirst() && !cursor.isNull(0)) {
+            bestTime = cursor.getInt(0);
         }
         cursor.close();
-        database.close();
 
         return bestTime;
     }
 
     /**
      * Adds a single data set of a saved game to the table
-     * If there are more than 10 saved games in the table, the oldest one is deleted
+     * If there would be more than MAX_SAVED_GAMES saved games in the table, the oldest ones are deleted
      * As no ID is provided and KEY_ID is autoincremented
      * the last available key of the table is taken and incremented by 1
      * @param savedGame Data set of a saved game that is added
@@ -446,37 +584,35 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
         values.put(KEY_PROGRESS, savedGame.getPROGRESS());
         values.put(KEY_SAVED_GAME_CONTENT, savedGame.getSAVED_GAME_CONTENT());
         values.put(KEY_SAVED_GAME_STATUS, savedGame.getSAVED_GAME_STATUS());
+        values.put(KEY_SAVED_GAME_DATA, savedGame.getSAVED_GAME_DATA());
 
-        //if there are 10 or more saved games, the oldest one is deleted (first data set in the table)
-        if(DatabaseUtils.queryNumEntries(database, TABLE_SAVED_GAMES) >= 10){
-            String selectQuery = "SELECT  * FROM " + TABLE_SAVED_GAMES;
-            Cursor cursor = database.rawQuery(selectQuery, null);
-            if (cursor.moveToFirst()){
-                database.delete(TABLE_SAVED_GAMES, KEY_ID + " = ?", new String[] { cursor.getString(0) });
-            }
-            cursor.close();
-        }
+        //only the newest MAX_SAVED_GAMES - 1 saved games are kept, the ids are increasing with the age of the games
+        //if there are fewer saved games, the inner query returns null and nothing is deleted
+        database.execSQL("DELETE FROM " + TABLE_SAVED_GAMES + " WHERE " + KEY_ID + " < (SELECT " + KEY_ID + " FROM " +
+                TABLE_SAVED_GAMES + " ORDER BY " + KEY_ID + " DESC LIMIT 1 OFFSET " + (MAX_SAVED_GAMES - 2) + ")");
 
         database.insert(TABLE_SAVED_GAMES, null, values);
-
-        database.close();
     }
 
     /**
      * This method gets a single data set of a saved game based on its ID
      * @param id of the data set that is requested, could be get by the get-method
-     * @return the data set of the saved game that is requested
+     * @return the data set of the saved game that is requested, null if there is none with this id
      */
     public PFMSavedGameDataType getSavedGameData(int id) {
         SQLiteDatabase database = this.getWritableDatabase();
 
         Cursor cursor = database.query(TABLE_SAVED_GAMES, new String[]{KEY_ID, KEY_GAME_MODE_SAVED, KEY_PLAYING_TIME_SAVED, KEY_DATE_SAVED,
-                        KEY_PROGRESS, KEY_SAVED_GAME_CONTENT, KEY_SAVED_GAME_STATUS},KEY_ID + "=?",
+                        KEY_PROGRESS, KEY_SAVED_GAME_CONTENT, KEY_SAVED_GAME_STATUS, KEY_SAVED_GAME_DATA},KEY_ID + "=?",
                         new String[]{String.valueOf(id)}, null, null, null, null);
 
-        PFMSavedGameDataType dataSetSavedGame = new PFMSavedGameDataType();
+        if (cursor == null) {
+            return null;
+        }
+        PFMSavedGameDataType dataSetSavedGame = null;
 
-        if( cursor != null && cursor.moveToFirst() ){
+        if( cursor.moveToFirst() ){
+            dataSetSavedGame = new PFMSavedGameDataType();
             dataSetSavedGame.setID(Integer.parseInt(cursor.getString(0)));
             dataSetSavedGame.setGAME_MODE(cursor.getString(1));
             dataSetSavedGame.setTIME(Integer.parseInt(cursor.getString(2)));
@@ -484,13 +620,45 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
             dataSetSavedGame.setPROGRESS(cursor.getString(4));
             dataSetSavedGame.setSAVED_GAME_CONTENT(cursor.getString(5));
             dataSetSavedGame.setSAVED_GAME_STATUS(cursor.getString(6));
-
-            cursor.close();
-            database.close();
+            dataSetSavedGame.setSAVED_GAME_DATA(cursor.getBlob(7));
         }
+        cursor.close();
         return dataSetSavedGame;
     }
 
+    /**
+     * This method returns a page of summaries of saved games (game mode, playing time, date and progress)
+     * The playing fields are not read, they are only needed when a saved game is continued (see getSavedGameData)
+     * Pages are found by the id of the last saved game of the previous page, so each page is read from the primary key
+     * @param afterId id of the last saved game of the previous page, 0 for the first page
+     * @param limit maximal number of saved games in the page
+     * @return A list of data sets of saved games, ordered by id, without the content and status of the playing fields
+     */
+    public List<PFMSavedGameDataType> getSavedGameSummaries(int afterId, int limit) {
+        List<PFMSavedGameDataType> savedGamesList = new ArrayList<PFMSavedGameDataType>();
+
+        SQLiteDatabase database = this.getWritableDatabase();
+        Cursor cursor = database.query(TABLE_SAVED_GAMES, new String[]{KEY_ID, KEY_GAME_MODE_SAVED, KEY_PLAYING_TIME_SAVED,
+                        KEY_DATE_SAVED, KEY_PROGRESS}, KEY_ID + " > ?", new String[]{String.valueOf(afterId)},
+                        null, null, KEY_ID, String.valueOf(limit));
+
+        PFMSavedGameDataType dataSetSavedGame;
+
+        if (cursor.moveToFirst()) {
+            do {
+                dataSetSavedGame = new PFMSavedGameDataType();
+                dataSetSavedGame.setID(cursor.getInt(0));
+                dataSetSavedGame.setGAME_MODE(cursor.getString(1));
+                dataSetSavedGame.setTIME(cursor.getInt(2));
+                dataSetSavedGame.setDATE(cursor.getString(3));
+                dataSetSavedGame.setPROGRESS(cursor.getString(4));
+                savedGamesList.add(dataSetSavedGame);
+            } while (cursor.moveToNext());
+        }
+        cursor.close();
+        return savedGamesList;
+    }
+
     /**
      * Deletes a single saved game data set from the DB
      * This method takes the data set and extracts its key to build the delete-query
@@ -500,7 +668,6 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
         SQLiteDatabase database = this.getWritableDatabase();
         database.delete(TABLE_SAVED_GAMES, KEY_ID + " = ?",
                 new String[] { Integer.toString(id)});
-        database.close();
     }
 
     /**
@@ -510,11 +677,13 @@ public class PFMSQLiteHelper extends SQLiteOpenHelper {
     public boolean checkForSavedGames (){
         boolean savedGamesExist = false;
         SQLiteDatabase database = this.getWritableDatabase();
-        String selectQuery = "SELECT  * FROM " + TABLE_SAVED_GAMES;
+        //one id is enough, there may be hundreds of saved games
+        String selectQuery = "SELECT " + KEY_ID + " FROM " + TABLE_SAVED_GAMES + " LIMIT 1";
         Cursor cursor = database.rawQuery(selectQuery, null);
         if (cursor.moveToFirst()){
             savedGamesExist = true;
         }
+        cursor.close();
 
         return savedGamesExist;
     }
@@ -32,6 +32,8 @@ public class PFMSavedGameDataType {
     private String PROGRESS;
     private String SAVED_GAME_CONTENT;
     private String SAVED_GAME_STATUS;
+    //binary form of the playing field (see SavedGameCodec), the two strings above are only set for games saved by older versions
+    private byte[] SAVED_GAME_DATA;
 
     public PFMSavedGameDataType() {    }
 
@@ -83,4 +85,8 @@ public class PFMSavedGameDataType {
 
     public void setSAVED_GAME_STATUS(String SAVED_GAME_STATUS) { this.SAVED_GAME_STATUS = SAVED_GAME_STATUS; }
 
+    public byte[] getSAVED_GAME_DATA() { return SAVED_GAME_DATA; }
+
+    public void setSAVED_GAME_DATA(byte[] SAVED_GAME_DATA) { this.SAVED_GAME_DATA = SAVED_GAME_DATA; }
+
 }
@@ -0,0 +1,108 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.helpers;
+
+import org.secuso.privacyfriendlyminesweeper.engine.BoardGenerator;
+import org.secuso.privacyfriendlyminesweeper.engine.BoardPool;
+import org.secuso.privacyfriendlyminesweeper.engine.NoGuessGenerator;
+import org.secuso.privacyfriendlyminesweeper.engine.ParallelBoardGenerator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * @version 20261017
+ * This class holds the pools of playing fields that are generated in advance (see BoardPool), one per size
+ * and kind of generator. All playing fields are generated one after the other on one background thread
+ * with low priority, so the first click of a game usually does not have to wait for the mines to be placed.
+ * Only playing fields that are generated quickly are pooled, so no pool can keep the thread from the others
+ */
+public class BoardPoolManager {
+
+    //pools of the three game modes with and without guessing, and of the last user defined sizes
+    private static final int MAX_POOLS = 8;
+    //larger playing fields need a lot of memory, their mines are placed on the first click (see ParallelBoardGenerator)
+    private static final int MAX_POOLED_CELLS = 100000;
+    private static final int CAPACITY = 2;
+
+    private static BoardPoolManager instance;
+
+    private final ExecutorService executor;
+    private final Map<String, BoardPool> pools;
+
+    private BoardPoolManager() {
+        executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "BoardPool");
+                thread.setPriority(Thread.MIN_PRIORITY);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        //the pool used longest ago is dropped first
+        pools = new LinkedHashMap<String, BoardPool>(MAX_POOLS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BoardPool> eldest) {
+                return size() > MAX_POOLS;
+            }
+        };
+    }
+
+    public static synchronized BoardPoolManager getInstance() {
+        if (instance == null) {
+            instance = new BoardPoolManager();
+        }
+        return instance;
+    }
+
+    /**
+     * This method returns the pool for playing fields of the given size, it is created on the first call
+     * The pool is not filled by this method (see BoardPool.fill)
+     * @param numberOfColumns number of columns of the playing fields
+     * @param numberOfRows number of rows of the playing fields
+     * @param numberOfBombs number of mines of the playing fields
+     * @param noGuess true for playing fields that can be solved without guessing
+     * @return the pool, or null if playing fields of this size are not pooled
+     */
+    public synchronized BoardPool getPool(int numberOfColumns, int numberOfRows, int numberOfBombs, boolean noGuess) {
+        int numberOfCells = numberOfColumns * numberOfRows;
+        if (numberOfCells > MAX_POOLED_CELLS || (noGuess && numberOfCells > NoGuessGenerator.MAX_CELLS)) {
+            return null;
+        }
+        String key = numberOfColumns + "x" + numberOfRows + "x" + numberOfBombs + (noGuess ? "n" : "");
+        BoardPool pool = pools.get(key);
+        if (pool == null) {
+            BoardGenerator generator;
+            if (noGuess) {
+                generator = new NoGuessGenerator(new Random());
+            } else if (numberOfCells >= ParallelBoardGenerator.MIN_PARALLEL_CELLS) {
+                generator = new ParallelBoardGenerator(new Random());
+            } else {
+                generator = new BoardGenerator(new Random());
+            }
+            pool = new BoardPool(numberOfColumns, numberOfRows, numberOfBombs, CAPACITY, generator, executor);
+            pools.put(key, pool);
+        }
+        return pool;
+    }
+}
@@ -19,9 +19,8 @@ package org.secuso.privacyfriendlyminesweeper.helpers;
 
 import android.content.Context;
 import android.content.SharedPreferences;
-import android.database.sqlite.SQLiteDatabase;
 
-import org.secuso.privacyfriendlyminesweeper.database.PFMSQLiteHelper;
+import org.secuso.privacyfriendlyminesweeper.database.PFMDatabaseManager;
 
 /**
  * @author Karola Marky, I3ananas
@@ -30,7 +29,6 @@ import org.secuso.privacyfriendlyminesweeper.database.PFMSQLiteHelper;
  * This class manages the first startup of the app (database is created)
  */
 public class FirstLaunchManager {
-    private PFMSQLiteHelper dbHandler;
     private SharedPreferences pref;
     private SharedPreferences.Editor editor;
     private Context context;
@@ -46,7 +44,6 @@ public class FirstLaunchManager {
     public FirstLaunchManager(Context context) {
         this.context = context;
         pref = context.getSharedPreferences(PREF_NAME, PRIVATE_MODE);
-        dbHandler = new PFMSQLiteHelper(context);
         editor = pref.edit();
     }
 
@@ -61,11 +58,8 @@ public class FirstLaunchManager {
 
     public void initFirstTimeLaunch() {
         if(pref.getBoolean(IS_FIRST_TIME_LAUNCH, true)) {
-            //create database on first launch
-            PFMSQLiteHelper helper = new PFMSQLiteHelper(context);
-            SQLiteDatabase database = helper.getWritableDatabase();
-            database.close();
-            helper.close();
+            //create database on first launch, the connection stays open for the rest of the app
+            PFMDatabaseManager.getInstance(context).getHelper().getWritableDatabase();
         }
     }
 
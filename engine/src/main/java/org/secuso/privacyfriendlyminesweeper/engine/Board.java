@@ -0,0 +1,324 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+/**
+ * @version 20261017
+ * This class holds the state of a playing field without any reference to views
+ * The content of a cell is a number (0-8 = number of neighbouring mines, 9 = mine),
+ * the state of a cell is one of COVERED (0), REVEALED (1) and MARKED (2), as in the data and status arrays
+ * that are used to save games. Positions are counted row by row, starting with 0 in the bottom left corner
+ *
+ * The cells are stored bit-packed: one bitset (64 cells per long) each for mines, revealed and marked cells
+ * and four bits per cell for the number of neighbouring mines. That is less than one byte per cell,
+ * and counting mines, revealed or marked cells is a popcount over the bitsets
+ */
+public class Board {
+
+    public static final int MINE = 9;
+
+    public static final int COVERED = 0;
+    public static final int REVEALED = 1;
+    public static final int MARKED = 2;
+
+    private final int numberOfColumns;
+    private final int numberOfRows;
+    private final int numberOfCells;
+    private final NeighbourIndex neighbourIndex;
+
+    private final long[] mines;
+    private final long[] revealed;
+    private final long[] marked;
+    //two cells per byte, the even position in the lower four bits
+    private final byte[] numbers;
+    //copies of mines and numbers shared by all snapshots until the mines change, null after a change
+    private long[] snapshotMines;
+    private byte[] snapshotNumbers;
+
+    /**
+     * Creates an empty playing field without any mines
+     * @param numberOfColumns number of columns of the playing field
+     * @param numberOfRows number of rows of the playing field
+     */
+    public Board(int numberOfColumns, int numberOfRows) {
+        this.numberOfColumns = numberOfColumns;
+        this.numberOfRows = numberOfRows;
+        this.numberOfCells = numberOfColumns * numberOfRows;
+        this.neighbourIndex = NeighbourIndex.forSize(numberOfColumns, numberOfRows);
+
+        int words = (numberOfCells + 63) >>> 6;
+        mines = new long[words];
+        revealed = new long[words];
+        marked = new long[words];
+        numbers = new byte[(numberOfCells + 1) >>> 1];
+    }
+
+    /**
+     * Creates a playing field from the data and status arrays (e.g. of a saved game)
+     * @param numberOfColumns number of columns of the playing field
+     * @param numberOfRows number of rows of the playing field
+     * @param data content of the cells
+     * @param status state of the cells
+     * @return the playing field
+     */
+    public static Board fromArrays(int numberOfColumns, int numberOfRows, int[] data, int[] status) {
+        if (data.length != numberOfColumns * numberOfRows || status.length != data.length) {
+            throw new IllegalArgumentException("Size of data and status does not match " + numberOfColumns + "x" + numberOfRows);
+        }
+        Board board = new Board(numberOfColumns, numberOfRows);
+        for (int pos = 0; pos < data.length; pos++) {
+            if (data[pos] == MINE) {
+                board.setMine(pos);
+            } else {
+                board.setNumber(pos, data[pos]);
+            }
+            board.setStatus(pos, status[pos]);
+        }
+        return board;
+    }
+
+    /**
+     * @return the content of all cells (0-8 = number of neighbouring mines, 9 = mine)
+     */
+    public int[] toDataArray() {
+        int[] data = new int[numberOfCells];
+        for (int pos = 0; pos < numberOfCells; pos++) {
+            data[pos] = getValue(pos);
+        }
+        return data;
+    }
+
+    /**
+     * @return the state of all cells (0 = normal, 1 = revealed, 2 = marked)
+     */
+    public int[] toStatusArray() {
+        int[] status = new int[numberOfCells];
+        for (int pos = 0; pos < numberOfCells; pos++) {
+            status[pos] = getStatus(pos);
+        }
+        return status;
+    }
+
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    public int getNumberOfCells() {
+        return numberOfCells;
+    }
+
+    public NeighbourIndex getNeighbourIndex() {
+        return neighbourIndex;
+    }
+
+    public int getValue(int position) {
+        if (isMine(position)) {
+            return MINE;
+        }
+        return (numbers[position >>> 1] >>> ((position & 1) << 2)) & 0xF;
+    }
+
+    public boolean isMine(int position) {
+        return (mines[position >>> 6] & (1L << position)) != 0;
+    }
+
+    public void setMine(int position) {
+        mines[position >>> 6] |= 1L << position;
+        snapshotMines = null;
+    }
+
+    void removeMine(int position) {
+        mines[position >>> 6] &= ~(1L << position);
+        snapshotMines = null;
+    }
+
+    private void setNumber(int position, int number) {
+        snapshotNumbers = null;
+        int shift = (position & 1) << 2;
+        int index = position >>> 1;
+        numbers[index] = (byte) ((numbers[index] & ~(0xF << shift)) | (number << shift));
+    }
+
+    public int getStatus(int position) {
+        int word = position >>> 6;
+        //revealed gives 1, marked gives 2, both bits are never set at the same time
+        return (int) ((revealed[word] >>> position) & 1L) | ((int) ((marked[word] >>> position) & 1L) << 1);
+    }
+
+    public void setStatus(int position, int state) {
+        int word = position >>> 6;
+        long bit = 1L << position;
+        revealed[word] &= ~bit;
+        marked[word] &= ~bit;
+        if (state == REVEALED) {
+            revealed[word] |= bit;
+        } else if (state == MARKED) {
+            marked[word] |= bit;
+        }
+    }
+
+    public int getRow(int position) {
+        return position / numberOfColumns;
+    }
+
+    public int getColumn(int position) {
+        return position % numberOfColumns;
+    }
+
+    /**
+     * This method counts the cells with the given state
+     * @param state state to look for (COVERED, REVEALED or MARKED)
+     * @return number of cells with this state
+     */
+    public int countStatus(int state) {
+        if (state == REVEALED) {
+            return bitCount(revealed);
+        }
+        if (state == MARKED) {
+            return bitCount(marked);
+        }
+        return numberOfCells - bitCount(revealed) - bitCount(marked);
+    }
+
+    /**
+     * This method counts the mines on the playing field
+     * @return number of mines
+     */
+    public int countMines() {
+        return bitCount(mines);
+    }
+
+    private static int bitCount(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * This method fills every cell that is not a mine with the number of neighbouring mines
+     * The numbers are computed in one pass as a separable 3x3 box sum over a mask of the mines:
+     * first the sums of three horizontally neighbouring cells, then the sums of three of these row sums
+     */
+    public void fillNumbers() {
+        fillNumbers(0, numberOfRows);
+    }
+
+    /**
+     * This method fills the numbers of the rows from firstRow up to endRow (exclusive) like fillNumbers
+     * Bands of rows that start at an even position do not share any byte of the numbers,
+     * so they can be filled on different threads (see ParallelBoardGenerator)
+     * @param firstRow first row to fill
+     * @param endRow row after the last row to fill
+     */
+    void fillNumbers(int firstRow, int endRow) {
+        //mask of the mines of the rows and the rows above and below, with a border of empty cells around it,
+        //so no sum needs edge cases
+        int stride = numberOfColumns + 2;
+        byte[] mask = new byte[(endRow - firstRow + 2) * stride];
+        for (int row = Math.max(0, firstRow - 1); row < Math.min(numberOfRows, endRow + 1); row++) {
+            int maskStart = (row - firstRow + 1) * stride + 1;
+            for (int column = 0, pos = row * numberOfColumns; column < numberOfColumns; column++, pos++) {
+                mask[maskStart + column] = (byte) ((mines[pos >>> 6] >>> pos) & 1L);
+            }
+        }
+
+        //horizontal sums: mines in the cell itself and its left and right neighbour
+        byte[] rowSums = new byte[mask.length];
+        for (int i = 1; i < mask.length - 1; i++) {
+            rowSums[i] = (byte) (mask[i - 1] + mask[i] + mask[i + 1]);
+        }
+
+        //vertical sums of the row sums, written two cells per byte
+        //a mine counts itself as well, but the number of a mine is never read
+        int pos = firstRow * numberOfColumns;
+        for (int row = 1; row <= endRow - firstRow; row++) {
+            int maskStart = row * stride + 1;
+            for (int i = maskStart; i < maskStart + numberOfColumns; i++, pos++) {
+                setNumber(pos, rowSums[i - stride] + rowSums[i] + rowSums[i + stride]);
+            }
+        }
+    }
+
+    /**
+     * This method copies the mines and numbers of another playing field of the same size (e.g. one that was
+     * generated in advance). The state of the cells is not changed
+     * @param source playing field with mines and numbers
+     */
+    void copyMinesFrom(Board source) {
+        if (source.numberOfColumns != numberOfColumns || source.numberOfRows != numberOfRows) {
+            throw new IllegalArgumentException("Size of the playing field does not match " + numberOfColumns + "x" + numberOfRows);
+        }
+        System.arraycopy(source.mines, 0, mines, 0, mines.length);
+        System.arraycopy(source.numbers, 0, numbers, 0, numbers.length);
+        snapshotMines = null;
+        snapshotNumbers = null;
+    }
+
+    //the bitsets are used directly by SavedGameCodec, 64 cells per long with position 0 in the lowest bit
+
+    long[] mineBits() {
+        return mines;
+    }
+
+    long[] revealedBits() {
+        return revealed;
+    }
+
+    long[] markedBits() {
+        return marked;
+    }
+
+    /**
+     * This method copies the current state of the playing field into an immutable snapshot
+     * Mines and numbers do not change during a game, so their copies are shared by the snapshots
+     * and only the revealed and marked cells are copied every time
+     * @param explodedPosition position of the mine that lost the game or -1
+     * @param revision number of the move after which the snapshot is taken
+     * @return the snapshot
+     */
+    BoardSnapshot snapshot(int explodedPosition, int revision) {
+        if (snapshotMines == null) {
+            snapshotMines = mines.clone();
+        }
+        if (snapshotNumbers == null) {
+            snapshotNumbers = numbers.clone();
+        }
+        return new BoardSnapshot(numberOfColumns, numberOfRows, snapshotMines, revealed.clone(), marked.clone(),
+                snapshotNumbers, explodedPosition, revision);
+    }
+
+    /**
+     * This method counts the marked cells around position (up to eight)
+     * @param position position of the cell on the playing field
+     * @return number of neighbouring cells that are marked
+     */
+    int countMarkedNeighbours(int position) {
+        int count = 0;
+        for (int offset : neighbourIndex.neighbours(position)) {
+            int neighbour = position + offset;
+            count += (int) ((marked[neighbour >>> 6] >>> neighbour) & 1L);
+        }
+        return count;
+    }
+}
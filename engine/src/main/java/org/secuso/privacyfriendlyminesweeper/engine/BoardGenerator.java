@@ -0,0 +1,149 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @version 20261017
+ * This class places the mines on a playing field and fills in the numbers
+ * The candidate cells are shuffled once (partial Fisher-Yates shuffle) with a single random generator,
+ * so every cell is looked at most once and the time needed does not depend on the density of mines.
+ * Clusters of mines are tracked incrementally by MineClusters
+ */
+public class BoardGenerator {
+
+    //games saved with a seed are only restored by the same placement of mines,
+    //so this number has to be increased whenever the placement for a given random generator changes
+    public static final int VERSION = 1;
+
+    private final Random random;
+
+    public BoardGenerator(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * This method fills the playing field with data. First it puts the needed amount of bombs in random cells,
+     * then it calculates the number of neighbouring bombs for each cell
+     * @param board the empty playing field
+     * @param numberOfBombs number of bombs to place
+     * @param notHere the position of the cell where the user clicked first. This one can not have a bomb in it
+     */
+    public void placeMines(Board board, int numberOfBombs, int notHere) {
+        boolean[] excluded = new boolean[board.getNumberOfCells()];
+        excluded[notHere] = true;
+        placeMinesExcept(board, numberOfBombs, excluded, 1);
+    }
+
+    /**
+     * This method fills the playing field like placeMines, but keeps the neighbours of the first clicked cell free
+     * of mines as well, so the first click opens an area. If the playing field is too dense for that,
+     * only the first clicked cell is kept free
+     * @param board the empty playing field
+     * @param numberOfBombs number of bombs to place
+     * @param notHere the position of the cell where the user clicked first
+     */
+    public void placeMinesWithOpening(Board board, int numberOfBombs, int notHere) {
+        placeMinesWithOpening(board, numberOfBombs, notHere, 1);
+    }
+
+    /**
+     * This method fills the playing field like placeMines, but keeps all cells up to radius rows and columns away
+     * from the first clicked cell free of mines, so the first click opens an area of at least that size.
+     * If the playing field is too dense for that, only the first clicked cell is kept free
+     * @param board the empty playing field
+     * @param numberOfBombs number of bombs to place
+     * @param notHere the position of the cell where the user clicked first
+     * @param radius 1 keeps the neighbours free, 2 a square of 5x5 cells and so on
+     */
+    public void placeMinesWithOpening(Board board, int numberOfBombs, int notHere, int radius) {
+        int numberOfColumns = board.getNumberOfColumns();
+        int row = board.getRow(notHere);
+        int column = board.getColumn(notHere);
+
+        boolean[] excluded = new boolean[board.getNumberOfCells()];
+        int numberOfExcluded = 0;
+        for (int r = Math.max(0, row - radius); r <= Math.min(board.getNumberOfRows() - 1, row + radius); r++) {
+            for (int c = Math.max(0, column - radius); c <= Math.min(numberOfColumns - 1, column + radius); c++) {
+                excluded[r * numberOfColumns + c] = true;
+                numberOfExcluded++;
+            }
+        }
+        if (board.getNumberOfCells() - numberOfExcluded < numberOfBombs) {
+            Arrays.fill(excluded, false);
+            excluded[notHere] = true;
+            numberOfExcluded = 1;
+        }
+        placeMinesExcept(board, numberOfBombs, excluded, numberOfExcluded);
+    }
+
+    /**
+     * This method places the mines on all cells that are not excluded and fills in the numbers
+     * @param board the empty playing field
+     * @param numberOfBombs number of bombs to place
+     * @param excluded true for the cells that can not have a bomb in them
+     * @param numberOfExcluded number of excluded cells
+     */
+    void placeMinesExcept(Board board, int numberOfBombs, boolean[] excluded, int numberOfExcluded) {
+        int numberOfCells = board.getNumberOfCells();
+
+        //the excluded cells are taken out of the candidates up front
+        int[] candidates = new int[numberOfCells - numberOfExcluded];
+        for (int position = 0, i = 0; position < numberOfCells; position++) {
+            if (!excluded[position]) {
+                candidates[i++] = position;
+            }
+        }
+
+        MineClusters clusters = new MineClusters(board);
+        int placed = 0;
+        int looked = 0;
+        while (placed < numberOfBombs && looked < candidates.length) {
+            //draw the next candidate from the part that has not been looked at yet
+            int drawn = looked + random.nextInt(candidates.length - looked);
+            int position = candidates[drawn];
+            candidates[drawn] = candidates[looked];
+            candidates[looked] = position;
+            looked++;
+
+            //skip the candidate if placing a bomb at position would produce a cluster of bombs
+            //4 or more horizontally and vertically neighbouring bombs are considered to be a cluster
+            //possible arrangements that are prevented:
+            //1) XX  2) XX   3) XXXX  4) XXX  5) XXX
+            //   XX      XX              X        X
+            //further bombs can only enlarge clusters, so a skipped candidate never has to be looked at again
+            if (clusters.sizeIfPlaced(position) < 4) {
+                clusters.place(position);
+                placed++;
+            }
+        }
+
+        //if the playing field is too dense to avoid clusters the remaining bombs are put on skipped candidates
+        for (int i = 0; placed < numberOfBombs && i < candidates.length; i++) {
+            if (!board.isMine(candidates[i])) {
+                clusters.place(candidates[i]);
+                placed++;
+            }
+        }
+
+        board.fillNumbers();
+    }
+}
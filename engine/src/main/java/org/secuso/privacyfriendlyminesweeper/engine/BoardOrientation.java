@@ -0,0 +1,90 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+/**
+ * @version 20261017
+ * This class maps the rows and columns on the screen to the positions of a Board
+ * The board is always kept in its canonical (portrait) orientation. In landscape mode the playing field
+ * is shown rotated: the first row on the screen is the first column of the board, from its last row to its first.
+ * So rotating the device only changes the mapping and the state of the game is never copied
+ */
+public final class BoardOrientation {
+
+    private final int boardColumns;
+    private final int boardRows;
+    private final boolean rotated;
+
+    /**
+     * @param boardColumns number of columns of the board
+     * @param boardRows number of rows of the board
+     * @param rotated true if the playing field is shown in landscape mode
+     */
+    public BoardOrientation(int boardColumns, int boardRows, boolean rotated) {
+        this.boardColumns = boardColumns;
+        this.boardRows = boardRows;
+        this.rotated = rotated;
+    }
+
+    public boolean isRotated() {
+        return rotated;
+    }
+
+    /**
+     * @return number of columns on the screen
+     */
+    public int getNumberOfColumns() {
+        return rotated ? boardRows : boardColumns;
+    }
+
+    /**
+     * @return number of rows on the screen
+     */
+    public int getNumberOfRows() {
+        return rotated ? boardColumns : boardRows;
+    }
+
+    /**
+     * This method finds the cell of the board that is shown at a row and column of the screen
+     * @param row row on the screen
+     * @param column column on the screen
+     * @return position of the cell on the board
+     */
+    public int toPosition(int row, int column) {
+        if (rotated) {
+            return (boardRows - 1 - column) * boardColumns + row;
+        }
+        return row * boardColumns + column;
+    }
+
+    /**
+     * @param position position of a cell on the board
+     * @return row on the screen where the cell is shown
+     */
+    public int getRow(int position) {
+        return rotated ? position % boardColumns : position / boardColumns;
+    }
+
+    /**
+     * @param position position of a cell on the board
+     * @return column on the screen where the cell is shown
+     */
+    public int getColumn(int position) {
+        return rotated ? boardRows - 1 - position / boardColumns : position % boardColumns;
+    }
+}
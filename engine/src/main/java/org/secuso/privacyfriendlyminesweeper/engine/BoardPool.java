@@ -0,0 +1,269 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+/**
+ * @version 20261017
+ * This class keeps a few playing fields of one size that are generated in advance, in background
+ * The mines of a playing field depend on the first click, so every playing field is generated for a random cell
+ * with a large area around it that is free of mines (see BoardGenerator.placeMinesWithOpening). Every cell of that
+ * area without neighbouring mines opens the same area, so a first click on one of these cells gets the playing field.
+ * The playing fields are mirrored horizontally and / or vertically to find one whose area contains the first click.
+ * If there is none, the mines around the first click of a playing field are moved to random other cells, except for
+ * playing fields of a NoGuessGenerator, which could need guessing afterwards
+ */
+public class BoardPool {
+
+    //the cells up to two rows and columns away from the chosen cell are kept free of mines (5x5 cells)
+    private static final int OPENING_RADIUS = 2;
+
+    private final int numberOfColumns;
+    private final int numberOfRows;
+    private final int numberOfBombs;
+    private final int capacity;
+    private final BoardGenerator generator;
+    private final Executor executor;
+    private final Random random;
+    private final boolean relocateMines;
+
+    private final ArrayDeque<PooledBoard> boards;
+    private int pending;
+
+    /**
+     * @param numberOfColumns number of columns of the playing fields
+     * @param numberOfRows number of rows of the playing fields
+     * @param numberOfBombs number of mines of the playing fields
+     * @param capacity number of playing fields that are kept
+     * @param generator generator of the playing fields (e.g. a NoGuessGenerator)
+     * @param executor executor that generates the playing fields in background
+     */
+    public BoardPool(int numberOfColumns, int numberOfRows, int numberOfBombs, int capacity,
+                     BoardGenerator generator, Executor executor) {
+        this.numberOfColumns = numberOfColumns;
+        this.numberOfRows = numberOfRows;
+        this.numberOfBombs = numberOfBombs;
+        this.capacity = capacity;
+        this.generator = generator;
+        this.executor = executor;
+        this.random = new Random();
+        this.relocateMines = !(generator instanceof NoGuessGenerator);
+        this.boards = new ArrayDeque<PooledBoard>(capacity);
+    }
+
+    /**
+     * This method starts the generation of as many playing fields as are missing in the pool
+     */
+    public synchronized void fill() {
+        while (boards.size() + pending < capacity) {
+            pending++;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    PooledBoard pooledBoard = null;
+                    try {
+                        pooledBoard = generate();
+                    } finally {
+                        synchronized (BoardPool.this) {
+                            pending--;
+                            if (pooledBoard != null) {
+                                boards.add(pooledBoard);
+                            }
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * @return number of playing fields that are ready
+     */
+    public synchronized int size() {
+        return boards.size();
+    }
+
+    /**
+     * This method takes a playing field out of the pool whose free area contains the first click
+     * @param firstClick position of the cell where the user clicked first
+     * @return playing field with mines and numbers where firstClick opens an area, or null if there is none in the pool
+     */
+    public Board take(int firstClick) {
+        PooledBoard found = null;
+        int foundMirror = 0;
+        Board relocated = null;
+        synchronized (this) {
+            for (Iterator<PooledBoard> iterator = boards.iterator(); iterator.hasNext() && found == null; ) {
+                PooledBoard pooledBoard = iterator.next();
+                for (int mirror = 0; mirror < 4; mirror++) {
+                    if (pooledBoard.opening.get(mirror(firstClick, mirror))) {
+                        found = pooledBoard;
+                        foundMirror = mirror;
+                        iterator.remove();
+                        break;
+                    }
+                }
+            }
+            if (found == null && relocateMines && !boards.isEmpty()) {
+                relocated = boards.poll().board;
+            }
+        }
+        if (relocated != null) {
+            relocateMines(relocated, firstClick);
+            return relocated;
+        }
+        if (found == null) {
+            return null;
+        }
+        if (foundMirror == 0) {
+            return found.board;
+        }
+
+        Board mirrored = new Board(numberOfColumns, numberOfRows);
+        for (int position = 0; position < mirrored.getNumberOfCells(); position++) {
+            if (found.board.isMine(position)) {
+                mirrored.setMine(mirror(position, foundMirror));
+            }
+        }
+        mirrored.fillNumbers();
+        return mirrored;
+    }
+
+    /**
+     * This method moves the mines on the first clicked cell and its neighbours to random cells that do not form
+     * clusters of 4 or more mines (like BoardGenerator) and calculates the numbers again
+     */
+    private void relocateMines(Board board, int firstClick) {
+        int[] neighbours = board.getNeighbourIndex().neighbours(firstClick);
+        boolean[] keepFree = new boolean[board.getNumberOfCells()];
+        keepFree[firstClick] = true;
+        //if the playing field is too dense only the first clicked cell is kept free
+        if (board.getNumberOfCells() - 1 - neighbours.length >= numberOfBombs) {
+            for (int offset : neighbours) {
+                keepFree[firstClick + offset] = true;
+            }
+        }
+
+        int toMove = 0;
+        for (int position = 0; position < keepFree.length; position++) {
+            if (keepFree[position] && board.isMine(position)) {
+                board.removeMine(position);
+                toMove++;
+            }
+        }
+        for (int tries = 0; toMove > 0; tries++) {
+            int position = random.nextInt(board.getNumberOfCells());
+            //after many tries clusters are accepted, the playing field is probably too dense
+            if (!keepFree[position] && !board.isMine(position) && (tries > 1000 || clusterSizeIfPlaced(board, position) < 4)) {
+                board.setMine(position);
+                toMove--;
+            }
+        }
+        board.fillNumbers();
+    }
+
+    /**
+     * @return number of horizontally and vertically connected mines if a mine was put at position, counted up to 4
+     */
+    private static int clusterSizeIfPlaced(Board board, int position) {
+        int[] cluster = new int[4];
+        int size = 0;
+        cluster[size++] = position;
+        for (int i = 0; i < size && size < 4; i++) {
+            for (int offset : board.getNeighbourIndex().orthogonalNeighbours(cluster[i])) {
+                int neighbour = cluster[i] + offset;
+                if (size < 4 && board.isMine(neighbour) && !contains(cluster, size, neighbour)) {
+                    cluster[size++] = neighbour;
+                }
+            }
+        }
+        return size;
+    }
+
+    private static boolean contains(int[] cells, int size, int cell) {
+        for (int i = 0; i < size; i++) {
+            if (cells[i] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private PooledBoard generate() {
+        Board board = new Board(numberOfColumns, numberOfRows);
+        int start = random.nextInt(board.getNumberOfCells());
+        generator.placeMinesWithOpening(board, numberOfBombs, start, OPENING_RADIUS);
+        //a playing field that needs guessing is not kept, the first click then generates its own playing field
+        if (generator instanceof NoGuessGenerator && !((NoGuessGenerator) generator).isLastPlacementSolvable()) {
+            return null;
+        }
+
+        //the cells without neighbouring mines that are connected to start, each of them opens the same area
+        BitSet opening = new BitSet(board.getNumberOfCells());
+        opening.set(start);
+        if (board.getValue(start) == 0) {
+            int[] stack = new int[board.getNumberOfCells()];
+            int top = 0;
+            stack[top++] = start;
+            while (top > 0) {
+                int cell = stack[--top];
+                for (int offset : board.getNeighbourIndex().neighbours(cell)) {
+                    int neighbour = cell + offset;
+                    if (board.getValue(neighbour) == 0 && !opening.get(neighbour)) {
+                        opening.set(neighbour);
+                        stack[top++] = neighbour;
+                    }
+                }
+            }
+        }
+        return new PooledBoard(board, opening);
+    }
+
+    /**
+     * @param position position of a cell
+     * @param mirror bit 0 mirrors the columns, bit 1 mirrors the rows
+     * @return position of the cell in the mirrored playing field
+     */
+    private int mirror(int position, int mirror) {
+        int row = position / numberOfColumns;
+        int column = position % numberOfColumns;
+        if ((mirror & 1) != 0) {
+            column = numberOfColumns - 1 - column;
+        }
+        if ((mirror & 2) != 0) {
+            row = numberOfRows - 1 - row;
+        }
+        return row * numberOfColumns + column;
+    }
+
+    private static final class PooledBoard {
+
+        private final Board board;
+        private final BitSet opening;
+
+        private PooledBoard(Board board, BitSet opening) {
+            this.board = board;
+            this.opening = opening;
+        }
+    }
+}
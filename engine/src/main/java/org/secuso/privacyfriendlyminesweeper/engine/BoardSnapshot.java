@@ -0,0 +1,82 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+/**
+ * @version 20261017
+ * This class is an immutable copy of a Board at one point of the game
+ * The GameEngine publishes a new snapshot after every move, so the playing field can be drawn
+ * on another thread while the engine already handles the next move
+ */
+public final class BoardSnapshot {
+
+    private final int numberOfColumns;
+    private final int numberOfRows;
+    private final long[] mines;
+    private final long[] revealed;
+    private final long[] marked;
+    private final byte[] numbers;
+    private final int explodedPosition;
+    private final int revision;
+
+    BoardSnapshot(int numberOfColumns, int numberOfRows, long[] mines, long[] revealed, long[] marked, byte[] numbers,
+                  int explodedPosition, int revision) {
+        this.numberOfColumns = numberOfColumns;
+        this.numberOfRows = numberOfRows;
+        this.mines = mines;
+        this.revealed = revealed;
+        this.marked = marked;
+        this.numbers = numbers;
+        this.explodedPosition = explodedPosition;
+        this.revision = revision;
+    }
+
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * @return position of the mine that lost the game, -1 if the game was not lost when the snapshot was taken
+     */
+    public int getExplodedPosition() {
+        return explodedPosition;
+    }
+
+    /**
+     * @return number of the move after which the snapshot was taken, later snapshots have higher numbers
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    public int getValue(int position) {
+        if ((mines[position >>> 6] & (1L << position)) != 0) {
+            return Board.MINE;
+        }
+        return (numbers[position >>> 1] >>> ((position & 1) << 2)) & 0xF;
+    }
+
+    public int getStatus(int position) {
+        int word = position >>> 6;
+        return (int) ((revealed[word] >>> position) & 1L) | ((int) ((marked[word] >>> position) & 1L) << 1);
+    }
+}
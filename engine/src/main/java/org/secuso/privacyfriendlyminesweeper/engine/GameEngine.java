@@ -0,0 +1,392 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import java.util.Random;
+
+/**
+ * @version 20261017
+ * This class implements the rules of the game on a Board without touching any views:
+ * - placing the mines after the first click
+ * - revealing, marking and revealing around cells
+ * - check for victory and/or defeat
+ * Every move returns the list of cells whose content has to be redrawn. The list is reused by the next move.
+ * An immutable BoardSnapshot of the playing field can be drawn on another thread. While snapshots are published
+ * (setPublishSnapshots), a new one is taken after every move that changed cells, otherwise only when it is asked for
+ * An engine created with a seed places the mines deterministically and records its moves in a MoveLog,
+ * so the game can be restored from the seed, the first click and the moves (see SavedGameCodec)
+ */
+public class GameEngine {
+
+    private final Board board;
+    private final int numberOfBombs;
+    private final BoardGenerator generator;
+    private final CellList changedCells;
+    private final int[] revealStack;
+    //a playing field generated in advance can not be restored from the seed
+    private boolean seeded;
+    private final long seed;
+
+    private int bombsLeft;
+    private int countDownToWin;
+    private boolean gameWon;
+    private boolean gameLost;
+    private int explodedPosition;
+    private boolean minesPlaced;
+    private int firstClick;
+    private MoveLog moveLog;
+    private int revision;
+    private volatile BoardSnapshot snapshot;
+    private volatile boolean publishSnapshots;
+    //true if cells changed since the last snapshot was taken
+    private boolean snapshotStale;
+
+    public GameEngine(Board board, int numberOfBombs) {
+        this(board, numberOfBombs, new Random());
+    }
+
+    /**
+     * Creates an engine for the given playing field. Cells that are already revealed or marked
+     * (e.g. of a saved game) are taken into account
+     * @param board the playing field
+     * @param numberOfBombs number of mines on the playing field
+     * @param random random generator used to place the mines
+     */
+    public GameEngine(Board board, int numberOfBombs, Random random) {
+        this(board, numberOfBombs, new BoardGenerator(random), false, 0);
+    }
+
+    /**
+     * Creates an engine that places the mines with the given generator (e.g. a NoGuessGenerator)
+     * @param board the playing field
+     * @param numberOfBombs number of mines on the playing field
+     * @param generator generator used to place the mines
+     */
+    public GameEngine(Board board, int numberOfBombs, BoardGenerator generator) {
+        this(board, numberOfBombs, generator, false, 0);
+    }
+
+    /**
+     * Creates an engine that places the mines with a random generator created from seed
+     * The same seed and first click always give the same mines
+     * @param board the playing field
+     * @param numberOfBombs number of mines on the playing field
+     * @param seed seed of the random generator used to place the mines
+     */
+    public GameEngine(Board board, int numberOfBombs, long seed) {
+        this(board, numberOfBombs, new BoardGenerator(new Random(seed)), true, seed);
+    }
+
+    private GameEngine(Board board, int numberOfBombs, BoardGenerator generator, boolean seeded, long seed) {
+        this.board = board;
+        this.numberOfBombs = numberOfBombs;
+        this.generator = generator;
+        this.changedCells = new CellList();
+        this.revealStack = new int[board.getNumberOfCells()];
+        this.seeded = seeded;
+        this.seed = seed;
+        this.explodedPosition = -1;
+        this.firstClick = -1;
+        //the mines of a saved playing field are already there
+        this.minesPlaced = board.countMines() > 0;
+
+        int marked = board.countStatus(Board.MARKED);
+        bombsLeft = numberOfBombs - marked;
+        countDownToWin = board.getNumberOfCells() - marked - board.countStatus(Board.REVEALED);
+        snapshotStale = true;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public int getNumberOfBombs() {
+        return numberOfBombs;
+    }
+
+    public int getBombsLeft() {
+        return bombsLeft;
+    }
+
+    /**
+     * @return number of cells that are neither revealed nor marked
+     */
+    public int getCountDownToWin() {
+        return countDownToWin;
+    }
+
+    public boolean isWon() {
+        return gameWon;
+    }
+
+    public boolean isLost() {
+        return gameLost;
+    }
+
+    public boolean isGameEnded() {
+        return gameWon || gameLost;
+    }
+
+    /**
+     * @return position of the mine that was revealed and lost the game, -1 if the game is not lost
+     */
+    public int getExplodedPosition() {
+        return explodedPosition;
+    }
+
+    public boolean isMinesPlaced() {
+        return minesPlaced;
+    }
+
+    /**
+     * @return true if the mines are placed with a seed by this engine, so the game can be saved as seed and moves
+     */
+    public boolean isSeeded() {
+        return seeded && (firstClick >= 0 || !minesPlaced);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return position of the first click, -1 if the mines are not placed by this engine
+     */
+    public int getFirstClick() {
+        return firstClick;
+    }
+
+    /**
+     * @return the moves since the mines were placed, null if the engine has no seed or the mines are not placed yet
+     */
+    public MoveLog getMoveLog() {
+        return moveLog;
+    }
+
+    /**
+     * This method can be called from any thread while snapshots are published,
+     * otherwise only from the thread that makes the moves
+     * @return the state of the playing field after the last move
+     */
+    public BoardSnapshot getSnapshot() {
+        if (!publishSnapshots && snapshotStale) {
+            snapshot = board.snapshot(explodedPosition, revision);
+            snapshotStale = false;
+        }
+        return snapshot;
+    }
+
+    /**
+     * This method turns the snapshot after every move on (e.g. for a view that draws on a render thread) or off
+     * Without it, moves (e.g. replayed ones) cost no copy of the playing field
+     * It has to be called from the thread that makes the moves
+     * @param publish true to take a snapshot after every move that changed cells
+     */
+    public void setPublishSnapshots(boolean publish) {
+        if (publish && snapshotStale) {
+            snapshot = board.snapshot(explodedPosition, revision);
+            snapshotStale = false;
+        }
+        publishSnapshots = publish;
+    }
+
+    /**
+     * This method fills the playing field with data after the first click
+     * @param notHere the position of the cell where the user clicked first. This one can not have a bomb in it
+     */
+    public void placeMines(int notHere) {
+        generator.placeMines(board, numberOfBombs, notHere);
+        minesPlaced = true;
+        firstClick = notHere;
+        if (seeded) {
+            moveLog = new MoveLog(notHere);
+        }
+    }
+
+    /**
+     * This method takes the mines of a playing field that was generated in advance (see BoardPool) after the first click
+     * The game is no longer seeded, so it is saved with its playing field instead of seed and moves
+     * @param notHere the position of the cell where the user clicked first, it has to be free of mines in pregenerated
+     * @param pregenerated playing field of the same size with mines and numbers
+     */
+    public void placeMines(int notHere, Board pregenerated) {
+        board.copyMinesFrom(pregenerated);
+        minesPlaced = true;
+        firstClick = notHere;
+        seeded = false;
+    }
+
+    /**
+     * This method reveals the cell at position. Cells without neighbouring bombs reveal their neighbours as well
+     * @param position position of the cell on the playing field
+     * @return the cells that were changed by this move
+     */
+    public CellList reveal(int position) {
+        changedCells.clear();
+        if (!isGameEnded()) {
+            revealCell(position);
+            victoryCheck();
+            publishSnapshot();
+            logMove(MoveLog.REVEAL, position);
+        }
+        return changedCells;
+    }
+
+    /**
+     * This method marks the cell at position as a mine or removes the mark
+     * Revealed cells can not be marked
+     * @param position position of the cell on the playing field
+     * @return the cells that were changed by this move
+     */
+    public CellList toggleMark(int position) {
+        changedCells.clear();
+        if (isGameEnded()) {
+            return changedCells;
+        }
+        if (board.getStatus(position) == Board.MARKED) {
+            board.setStatus(position, Board.COVERED);
+            countDownToWin++;
+            bombsLeft++;
+            changedCells.add(position);
+        } else if (board.getStatus(position) == Board.COVERED) {
+            board.setStatus(position, Board.MARKED);
+            countDownToWin--;
+            bombsLeft--;
+            changedCells.add(position);
+        }
+        victoryCheck();
+        publishSnapshot();
+        logMove(MoveLog.TOGGLE_MARK, position);
+        return changedCells;
+    }
+
+    /**
+     * This method reveals every cell around a revealed cell that is not marked,
+     * if the right amount of cells around it is marked (chording)
+     * @param position position of a revealed cell on the playing field
+     * @return the cells that were changed by this move
+     */
+    public CellList revealAround(int position) {
+        changedCells.clear();
+        if (isGameEnded() || board.getStatus(position) != Board.REVEALED) {
+            return changedCells;
+        }
+        int taggedCells = board.countMarkedNeighbours(position);
+        if (taggedCells == board.getValue(position)) {
+            revealAroundCell(position);
+        }
+        victoryCheck();
+        publishSnapshot();
+        logMove(MoveLog.REVEAL_AROUND, position);
+        return changedCells;
+    }
+
+    /**
+     * This method reveals every cell around position
+     * @param position position of the cell on the playing field around witch we want to operate
+     */
+    private void revealAroundCell(int position) {
+        for (int offset : board.getNeighbourIndex().neighbours(position)) {
+            revealCell(position + offset);
+        }
+    }
+
+    /**
+     * This method handles the revealing of a cell at a specific position
+     * Cells without neighbouring bombs open their neighbours with an iterative flood fill.
+     * A cell is set to revealed as soon as it is pushed onto the stack, so the status doubles as
+     * the visited set and every cell is pushed at most once
+     * @param position position of the cell on the playing field
+     */
+    private void revealCell(int position) {
+        //if another cell reveal already lost the game this method doesnt do anything
+        if (gameLost) {
+            return;
+        }
+
+        //only reveal if the cell is not marked or revealed
+        if (board.getStatus(position) != Board.COVERED) {
+            return;
+        }
+
+        //check for gameloss
+        if (board.isMine(position)) {
+            gameLost = true;
+            explodedPosition = position;
+            changedCells.add(position);
+            return;
+        }
+
+        NeighbourIndex neighbourIndex = board.getNeighbourIndex();
+        int top = 0;
+        revealStack[top++] = position;
+        board.setStatus(position, Board.REVEALED);
+
+        while (top > 0) {
+            int cell = revealStack[--top];
+            countDownToWin--;
+            changedCells.add(cell);
+
+            //check if automatic reveal of surrounding cells is needed
+            //neighbours of a cell without neighbouring bombs can not be bombs themselves
+            if (board.getValue(cell) == 0) {
+                for (int offset : neighbourIndex.neighbours(cell)) {
+                    int neighbour = cell + offset;
+                    if (board.getStatus(neighbour) == Board.COVERED) {
+                        board.setStatus(neighbour, Board.REVEALED);
+                        revealStack[top++] = neighbour;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This method publishes a new snapshot if the last move changed any cells and snapshots are published
+     */
+    private void publishSnapshot() {
+        if (!changedCells.isEmpty()) {
+            revision++;
+            if (publishSnapshots) {
+                snapshot = board.snapshot(explodedPosition, revision);
+            } else {
+                snapshotStale = true;
+            }
+        }
+    }
+
+    /**
+     * This method records a move that changed cells, moves without effect do not need to be replayed
+     */
+    private void logMove(int type, int position) {
+        if (moveLog != null && !changedCells.isEmpty()) {
+            moveLog.add(type, position);
+        }
+    }
+
+    /**
+     * This method checks if the game is won:
+     * all cells are revealed or marked and the right number of bombs is marked
+     */
+    private void victoryCheck() {
+        if (!gameLost && countDownToWin == 0 && bombsLeft == 0) {
+            gameWon = true;
+        }
+    }
+}
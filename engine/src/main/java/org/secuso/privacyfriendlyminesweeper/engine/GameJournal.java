@@ -0,0 +1,317 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * @version 20261017
+ * This class writes an append-only journal of the game that is played, so it survives the process being killed
+ * The journal starts with a checkpoint (game mode, playing time and the game encoded by SavedGameCodec),
+ * followed by one record of 9 bytes per move (kind of move, position, playing time). Every move costs one small write.
+ * After COMPACT_AFTER moves the journal is replaced by a new checkpoint, so it never grows long
+ * A journal that was not closed by its game is recovered with recover, an incomplete last record is ignored
+ *
+ * The game is encoded on the thread that makes the moves, the files are written by the executor of the journal.
+ * If writing fails, the next move writes a new checkpoint instead of its record
+ */
+public class GameJournal {
+
+    public static final int COMPACT_AFTER = 256;
+
+    private static final int MAGIC = 0x50464D4A;
+    private static final int VERSION = 1;
+    private static final int RECORD_LENGTH = 9;
+
+    //journals of games that are played in this process must not be recovered
+    private static final Set<String> openJournals = new HashSet<String>();
+
+    private final File file;
+    private final String gameMode;
+    private final Executor executor;
+    private GameEngine engine;
+    private boolean started;
+    private int movesSinceCheckpoint;
+    //set by the executor when a write fails
+    private volatile boolean failed;
+    //only used by the executor
+    private DataOutputStream out;
+
+    /**
+     * Creates a journal for a game that is written on the calling thread, nothing is written before start is called
+     * @param file file of the journal
+     * @param gameMode game mode of the game
+     */
+    public GameJournal(File file, String gameMode) {
+        this(file, gameMode, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+    }
+
+    /**
+     * Creates a journal for a game, nothing is written before start is called
+     * From now on until close an existing journal in this file is not recovered, it is replaced by start.
+     * A journal that is recovered on the same single thread executor is never read while writes are pending
+     * @param file file of the journal
+     * @param gameMode game mode of the game
+     * @param executor executor that writes the journal, it must run the writes one after the other in order
+     */
+    public GameJournal(File file, String gameMode, Executor executor) {
+        this.file = file;
+        this.gameMode = gameMode;
+        this.executor = executor;
+        synchronized (openJournals) {
+            openJournals.add(file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * This method writes the first checkpoint with the current state of the game
+     * @param engine the game, moves appended later must be made on it
+     * @param seconds playing time so far
+     */
+    public void start(GameEngine engine, int seconds) {
+        this.engine = engine;
+        started = true;
+        writeCheckpoint(seconds);
+    }
+
+    /**
+     * @return true if the journal is started
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * This method appends a move that was made on the engine
+     * After COMPACT_AFTER moves or a failed write a new checkpoint is written instead
+     * @param type MoveLog.REVEAL, MoveLog.TOGGLE_MARK or MoveLog.REVEAL_AROUND
+     * @param position position of the cell the move was made on
+     * @param seconds playing time after the move
+     */
+    public void append(final int type, final int position, final int seconds) {
+        movesSinceCheckpoint++;
+        if (failed || movesSinceCheckpoint >= COMPACT_AFTER) {
+            writeCheckpoint(seconds);
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (out == null) {
+                    return;
+                }
+                try {
+                    out.writeByte(type);
+                    out.writeInt(position);
+                    out.writeInt(seconds);
+                    out.flush();
+                } catch (IOException e) {
+                    closeStream();
+                    failed = true;
+                }
+            }
+        });
+    }
+
+    /**
+     * This method closes the journal, but keeps its file, e.g. when the game is saved in another way
+     */
+    public void close() {
+        synchronized (openJournals) {
+            openJournals.remove(file.getAbsolutePath());
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                closeStream();
+            }
+        });
+    }
+
+    /**
+     * This method closes the journal and deletes its file, e.g. when the game is finished or saved in the database
+     */
+    public void delete() {
+        close();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                file.delete();
+            }
+        });
+    }
+
+    /**
+     * This method replaces the journal by a checkpoint of the current state of the game
+     * The game is encoded now, the checkpoint is written to another file first by the executor,
+     * so a killed process leaves either the old or the new journal
+     */
+    private void writeCheckpoint(final int seconds) {
+        final byte[] game = SavedGameCodec.encodeGame(engine, true);
+        final int numberOfBombs = engine.getNumberOfBombs();
+        movesSinceCheckpoint = 0;
+        failed = false;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                closeStream();
+                try {
+                    File temporary = new File(file.getPath() + ".tmp");
+                    DataOutputStream checkpoint = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+                    try {
+                        checkpoint.writeInt(MAGIC);
+                        checkpoint.writeByte(VERSION);
+                        checkpoint.writeUTF(gameMode);
+                        checkpoint.writeInt(numberOfBombs);
+                        checkpoint.writeInt(seconds);
+                        checkpoint.writeInt(game.length);
+                        checkpoint.write(game);
+                    } finally {
+                        checkpoint.close();
+                    }
+                    if (!temporary.renameTo(file)) {
+                        throw new IOException("Can not replace " + file);
+                    }
+                    out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true), RECORD_LENGTH));
+                } catch (IOException e) {
+                    failed = true;
+                }
+            }
+        });
+    }
+
+    private void closeStream() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                //nothing more is written
+            }
+            out = null;
+        }
+    }
+
+    /**
+     * This method reads a journal that was left behind, e.g. by a killed process
+     * @param file file of the journal
+     * @return the game of the journal, null if there is no journal or its game is still played in this process
+     * @throws IOException if the journal can not be read or is corrupt
+     */
+    public static Recovery recover(File file) throws IOException {
+        synchronized (openJournals) {
+            if (!file.exists() || openJournals.contains(file.getAbsolutePath())) {
+                return null;
+            }
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Not a journal: " + file);
+            }
+            String gameMode = in.readUTF();
+            int numberOfBombs = in.readInt();
+            int seconds = in.readInt();
+            byte[] game = new byte[in.readInt()];
+            in.readFully(game);
+
+            GameEngine engine;
+            try {
+                engine = SavedGameCodec.decodeGame(game, numberOfBombs);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt journal: " + file, e);
+            }
+
+            byte[] record = new byte[RECORD_LENGTH];
+            ByteBuffer fields = ByteBuffer.wrap(record);
+            while (true) {
+                try {
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    //the last record may have been written only partly
+                    break;
+                }
+                int type = fields.get(0);
+                int position = fields.getInt(1);
+                int time = fields.getInt(5);
+                if (position < 0 || position >= engine.getBoard().getNumberOfCells()) {
+                    throw new IOException("Corrupt journal: " + file);
+                }
+
+                if (type == MoveLog.REVEAL) {
+                    engine.reveal(position);
+                } else if (type == MoveLog.TOGGLE_MARK) {
+                    engine.toggleMark(position);
+                } else if (type == MoveLog.REVEAL_AROUND) {
+                    engine.revealAround(position);
+                } else {
+                    throw new IOException("Corrupt journal: " + file);
+                }
+                seconds = time;
+            }
+            return new Recovery(gameMode, seconds, engine);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * This class holds a game recovered from a journal
+     */
+    public static class Recovery {
+
+        private final String gameMode;
+        private final int seconds;
+        private final GameEngine engine;
+
+        Recovery(String gameMode, int seconds, GameEngine engine) {
+            this.gameMode = gameMode;
+            this.seconds = seconds;
+            this.engine = engine;
+        }
+
+        public String getGameMode() {
+            return gameMode;
+        }
+
+        public int getSeconds() {
+            return seconds;
+        }
+
+        public GameEngine getEngine() {
+            return engine;
+        }
+    }
+}
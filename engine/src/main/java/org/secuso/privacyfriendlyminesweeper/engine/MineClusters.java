@@ -0,0 +1,108 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+/**
+ * @version 20261017
+ * This class keeps track of groups of horizontally and vertically connected mines while they are placed
+ * It is a union-find structure (with path halving and union by size) over the cells of a playing field,
+ * so the size of the cluster a new mine would join is known in nearly constant time without any allocation
+ */
+class MineClusters {
+
+    private final Board board;
+    private final int[] parent;
+    private final int[] size;
+
+    MineClusters(Board board) {
+        this.board = board;
+        this.parent = new int[board.getNumberOfCells()];
+        this.size = new int[board.getNumberOfCells()];
+    }
+
+    /**
+     * This method returns the size of the cluster that would be formed if a mine was put at position
+     * @param position position of a cell without a mine
+     * @return number of horizontally and vertically connected mines including the new one
+     */
+    int sizeIfPlaced(int position) {
+        int total = 1;
+        //a cell has at most four orthogonal neighbours, the roots seen so far are kept to not count a cluster twice
+        int root0 = -1;
+        int root1 = -1;
+        int root2 = -1;
+        for (int offset : board.getNeighbourIndex().orthogonalNeighbours(position)) {
+            int neighbour = position + offset;
+            if (!board.isMine(neighbour)) {
+                continue;
+            }
+            int root = find(neighbour);
+            if (root != root0 && root != root1 && root != root2) {
+                total += size[root];
+                if (root0 < 0) {
+                    root0 = root;
+                } else if (root1 < 0) {
+                    root1 = root;
+                } else {
+                    root2 = root;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * This method puts a mine at position and merges it with the clusters of its neighbouring mines
+     * @param position position of a cell without a mine
+     */
+    void place(int position) {
+        board.setMine(position);
+        parent[position] = position;
+        size[position] = 1;
+        for (int offset : board.getNeighbourIndex().orthogonalNeighbours(position)) {
+            int neighbour = position + offset;
+            if (board.isMine(neighbour)) {
+                union(position, neighbour);
+            }
+        }
+    }
+
+    private int find(int position) {
+        while (parent[position] != position) {
+            parent[position] = parent[parent[position]];
+            position = parent[position];
+        }
+        return position;
+    }
+
+    private void union(int first, int second) {
+        int rootFirst = find(first);
+        int rootSecond = find(second);
+        if (rootFirst == rootSecond) {
+            return;
+        }
+        if (size[rootFirst] < size[rootSecond]) {
+            int swap = rootFirst;
+            rootFirst = rootSecond;
+            rootSecond = swap;
+        }
+        parent[rootSecond] = rootFirst;
+        size[rootFirst] += size[rootSecond];
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+import java.util.Arrays;
+
+/**
+ * @version 20261017
+ * This class records the moves of a game in a compact form, so a game can be restored by replaying them
+ * Every move is one variable-length number (7 bits per byte): the kind of move in the lowest two bits
+ * and the distance to the position of the previous move (zigzag encoded) above them.
+ * Moves next to each other need one byte, moves across a large playing field at most five bytes
+ */
+public class MoveLog {
+
+    public static final int REVEAL = 0;
+    public static final int TOGGLE_MARK = 1;
+    public static final int REVEAL_AROUND = 2;
+
+    private final int startPosition;
+    private byte[] bytes;
+    private int length;
+    private int size;
+    private int lastPosition;
+
+    /**
+     * Creates an empty log
+     * @param startPosition position the first move is counted from (e.g. the first click)
+     */
+    public MoveLog(int startPosition) {
+        this.startPosition = startPosition;
+        this.bytes = new byte[64];
+        this.lastPosition = startPosition;
+    }
+
+    /**
+     * Creates a log from its encoded moves
+     * @param startPosition position the first move is counted from, as given when the log was recorded
+     * @param encoded the encoded moves, see toByteArray
+     * @param offset index of the first byte of the moves in encoded
+     * @param length number of bytes of the moves
+     * @return the log
+     * @throws IllegalArgumentException if the last move is incomplete or unknown
+     */
+    public static MoveLog fromBytes(int startPosition, byte[] encoded, int offset, int length) {
+        if (length > 0 && encoded[offset + length - 1] < 0) {
+            throw new IllegalArgumentException("Incomplete move at the end of the log");
+        }
+        MoveLog log = new MoveLog(startPosition);
+        log.bytes = Arrays.copyOfRange(encoded, offset, offset + Math.max(length, 1));
+        log.length = length;
+        log.lastPosition = log.walk(null);
+        return log;
+    }
+
+    /**
+     * This method appends a move to the log
+     * @param type REVEAL, TOGGLE_MARK or REVEAL_AROUND
+     * @param position position of the cell the move was made on
+     */
+    public void add(int type, int position) {
+        int delta = position - lastPosition;
+        lastPosition = position;
+        //zigzag: small negative and positive distances both become small numbers
+        long value = ((long) ((delta << 1) ^ (delta >> 31)) & 0xFFFFFFFFL) << 2 | type;
+
+        if (length + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        while (value >= 0x80) {
+            bytes[length++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+        size++;
+    }
+
+    /**
+     * @return position the first move is counted from (e.g. the first click)
+     */
+    public int getStartPosition() {
+        return startPosition;
+    }
+
+    /**
+     * @return number of moves in the log
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the encoded moves
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * This method makes every move of the log on the engine
+     * @param engine engine with the same playing field and the mines already placed
+     * @throws IllegalArgumentException if a move is outside of the playing field
+     */
+    public void replay(GameEngine engine) {
+        walk(engine);
+    }
+
+    /**
+     * This method decodes all moves and makes them on the engine, if there is one
+     * @param engine engine to make the moves on or null to only count them
+     * @return position of the last move
+     */
+    private int walk(GameEngine engine) {
+        int position = startPosition;
+        int moves = 0;
+        int i = 0;
+        while (i < length) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[i++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            int zigzag = (int) (value >>> 2);
+            position += (zigzag >>> 1) ^ -(zigzag & 1);
+            int type = (int) (value & 3);
+            moves++;
+            if (type > REVEAL_AROUND) {
+                throw new IllegalArgumentException("Unknown move " + type);
+            }
+            if (engine == null) {
+                continue;
+            }
+            if (position < 0 || position >= engine.getBoard().getNumberOfCells()) {
+                throw new IllegalArgumentException("Move outside of the playing field: " + position);
+            }
+
+            if (type == REVEAL) {
+                engine.reveal(position);
+            } else if (type == TOGGLE_MARK) {
+                engine.toggleMark(position);
+            } else {
+                engine.revealAround(position);
+            }
+        }
+        size = moves;
+        return position;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+/**
+ * @version 20261017
+ * This class implements a neighbour index for a playing field of a given size
+ * Every cell belongs to one of 16 kinds, depending on whether it has a row above / below and
+ * a column to the left / right. For every kind there is a table with the offsets of its neighbours,
+ * so the loops over neighbours do not need to branch on corners and edges.
+ * The index is built once per board size and shared between boards of the same size
+ */
+public final class NeighbourIndex {
+
+    private static final int HAS_LEFT = 1;
+    private static final int HAS_RIGHT = 2;
+    private static final int HAS_BELOW = 4;
+    private static final int HAS_ABOVE = 8;
+
+    private static volatile NeighbourIndex lastIndex;
+
+    private final int numberOfColumns;
+    private final int numberOfRows;
+    private final byte[] kinds;
+    private final int[][] neighbourOffsets;
+    private final int[][] orthogonalOffsets;
+
+    private NeighbourIndex(int numberOfColumns, int numberOfRows) {
+        this.numberOfColumns = numberOfColumns;
+        this.numberOfRows = numberOfRows;
+
+        kinds = new byte[numberOfColumns * numberOfRows];
+        for (int row = 0; row < numberOfRows; row++) {
+            int rowKind = (row > 0 ? HAS_BELOW : 0) | (row < numberOfRows - 1 ? HAS_ABOVE : 0);
+            for (int column = 0; column < numberOfColumns; column++) {
+                int columnKind = (column > 0 ? HAS_LEFT : 0) | (column < numberOfColumns - 1 ? HAS_RIGHT : 0);
+                kinds[row * numberOfColumns + column] = (byte) (rowKind | columnKind);
+            }
+        }
+
+        neighbourOffsets = new int[16][];
+        orthogonalOffsets = new int[16][];
+        for (int kind = 0; kind < 16; kind++) {
+            neighbourOffsets[kind] = offsets(kind, false);
+            orthogonalOffsets[kind] = offsets(kind, true);
+        }
+    }
+
+    /**
+     * Returns the neighbour index for a playing field of the given size
+     * @param numberOfColumns number of columns of the playing field
+     * @param numberOfRows number of rows of the playing field
+     * @return the (possibly shared) neighbour index
+     */
+    public static NeighbourIndex forSize(int numberOfColumns, int numberOfRows) {
+        NeighbourIndex index = lastIndex;
+        if (index == null || index.numberOfColumns != numberOfColumns || index.numberOfRows != numberOfRows) {
+            index = new NeighbourIndex(numberOfColumns, numberOfRows);
+            lastIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * @param position position of the cell on the playing field
+     * @return offsets that lead from position to its (up to eight) neighbours
+     */
+    public int[] neighbours(int position) {
+        return neighbourOffsets[kinds[position]];
+    }
+
+    /**
+     * @param position position of the cell on the playing field
+     * @return offsets that lead from position to its (up to four) horizontal and vertical neighbours
+     */
+    public int[] orthogonalNeighbours(int position) {
+        return orthogonalOffsets[kinds[position]];
+    }
+
+    private int[] offsets(int kind, boolean orthogonalOnly) {
+        int[] buffer = new int[8];
+        int count = 0;
+        for (int dRow = -1; dRow <= 1; dRow++) {
+            if ((dRow < 0 && (kind & HAS_BELOW) == 0) || (dRow > 0 && (kind & HAS_ABOVE) == 0)) {
+                continue;
+            }
+            for (int dColumn = -1; dColumn <= 1; dColumn++) {
+                if ((dColumn < 0 && (kind & HAS_LEFT) == 0) || (dColumn > 0 && (kind & HAS_RIGHT) == 0)) {
+                    continue;
+                }
+                if ((dRow == 0 && dColumn == 0) || (orthogonalOnly && dRow != 0 && dColumn != 0)) {
+                    continue;
+                }
+                buffer[count++] = dRow * numberOfColumns + dColumn;
+            }
+        }
+        int[] result = new int[count];
+        System.arraycopy(buffer, 0, result, 0, count);
+        return result;
+    }
+}
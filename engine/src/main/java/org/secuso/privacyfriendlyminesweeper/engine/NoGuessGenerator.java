@@ -0,0 +1,275 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @version 20261017
+ * This class places the mines so that the playing field can be solved from the first click without guessing
+ * Candidate playing fields are placed with an opening at the first click (see BoardGenerator.placeMinesWithOpening)
+ * and played by the Solver, revealing only cells that are certainly safe. The first candidate that is solved
+ * completely is taken. The candidates are tried by several threads at the same time; candidate i always uses
+ * the same random generator and the candidate with the lowest number wins, so the result does not depend
+ * on the number of threads. The helping threads are shared by all generators. If no candidate is solved in time,
+ * the first one is taken, which is placed like BoardGenerator does and may need guessing;
+ * isLastPlacementSolvable tells whether that happened
+ */
+public class NoGuessGenerator extends BoardGenerator {
+
+    //playing fields up to this size are solved within the time of a click on one core (40x40 cells with 20% mines)
+    public static final int MAX_CELLS = 1600;
+
+    //after this many candidates or this much time the first one is taken even though it needs guessing
+    //(e.g. for very dense playing fields)
+    private static final int MAX_ATTEMPTS = 5000;
+    public static final long TIME_BUDGET_MILLIS = 1000;
+    //the first click on the UI thread may only take a few frames, most playing fields come from a BoardPool anyway
+    public static final long CLICK_TIME_BUDGET_MILLIS = 50;
+
+    private static ExecutorService sharedExecutor;
+
+    private final Random random;
+    private final int numberOfThreads;
+    private final long timeBudgetMillis;
+    private volatile boolean lastPlacementSolvable = true;
+
+    public NoGuessGenerator(Random random) {
+        this(random, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param random random generator from which the random generators of the candidates are derived
+     * @param numberOfThreads number of threads trying candidates, including the calling thread
+     */
+    public NoGuessGenerator(Random random, int numberOfThreads) {
+        this(random, numberOfThreads, TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param random random generator from which the random generators of the candidates are derived
+     * @param numberOfThreads number of threads trying candidates, including the calling thread
+     * @param timeBudgetMillis time after which the first candidate is taken if none was solved
+     */
+    public NoGuessGenerator(Random random, int numberOfThreads, long timeBudgetMillis) {
+        super(random);
+        this.random = random;
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    private static synchronized Executor getSharedExecutor() {
+        //the calling thread tries candidates as well, so one thread less than cores is enough
+        if (sharedExecutor == null) {
+            sharedExecutor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                    new ThreadFactory() {
+                        private final AtomicInteger count = new AtomicInteger();
+
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "NoGuessGenerator-" + count.getAndIncrement());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+        }
+        return sharedExecutor;
+    }
+
+    /**
+     * This method fills the playing field with mines that can be found without guessing and calculates the numbers
+     * @param board the empty playing field
+     * @param numberOfBombs number of bombs to place
+     * @param notHere the position of the cell where the user clicked first. This one and its neighbours get no bomb
+     */
+    @Override
+    public void placeMines(Board board, int numberOfBombs, int notHere) {
+        placeMinesWithOpening(board, numberOfBombs, notHere, 1);
+    }
+
+    /**
+     * This method fills the playing field with mines that can be found without guessing and calculates the numbers
+     * @param board the empty playing field
+     * @param numberOfBombs number of bombs to place
+     * @param notHere the position of the cell where the user clicked first
+     * @param radius the cells up to radius rows and columns away from notHere get no bomb
+     */
+    @Override
+    public void placeMinesWithOpening(Board board, int numberOfBombs, int notHere, int radius) {
+        final long base = random.nextLong();
+        final int numberOfColumns = board.getNumberOfColumns();
+        final int numberOfRows = board.getNumberOfRows();
+        final int bombs = numberOfBombs;
+        final int firstClick = notHere;
+        final int openingRadius = radius;
+        final AtomicInteger nextAttempt = new AtomicInteger();
+        final AtomicInteger solvedAttempt = new AtomicInteger(MAX_ATTEMPTS);
+        final long deadline = System.currentTimeMillis() + timeBudgetMillis;
+
+        final Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                Solver solver = new Solver(numberOfColumns, numberOfRows);
+                while (true) {
+                    int attempt = nextAttempt.getAndIncrement();
+                    //candidates after a solved one can not win anymore
+                    if (attempt >= solvedAttempt.get() || System.currentTimeMillis() > deadline) {
+                        return;
+                    }
+                    Board candidate = new Board(numberOfColumns, numberOfRows);
+                    candidateGenerator(base, attempt).placeMinesWithOpening(candidate, bombs, firstClick, openingRadius);
+                    if (isSolvable(candidate, bombs, firstClick, solver)) {
+                        int solved = solvedAttempt.get();
+                        while (attempt < solved && !solvedAttempt.compareAndSet(solved, attempt)) {
+                            solved = solvedAttempt.get();
+                        }
+                        return;
+                    }
+                }
+            }
+        };
+
+        //helpers that are still queued behind other generators when the caller is done do not start anymore,
+        //so the caller only waits for helpers that are already trying candidates
+        final Object lock = new Object();
+        final int[] running = new int[1];
+        final boolean[] closed = new boolean[1];
+        Runnable helper = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (lock) {
+                    if (closed[0]) {
+                        return;
+                    }
+                    running[0]++;
+                }
+                try {
+                    worker.run();
+                } finally {
+                    synchronized (lock) {
+                        running[0]--;
+                        lock.notifyAll();
+                    }
+                }
+            }
+        };
+
+        Executor executor = getSharedExecutor();
+        for (int i = 1; i < numberOfThreads; i++) {
+            executor.execute(helper);
+        }
+        worker.run();
+        boolean interrupted = false;
+        synchronized (lock) {
+            closed[0] = true;
+            while (running[0] > 0) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        //all candidates before the solved one have been tried, so it is the first solvable one
+        lastPlacementSolvable = solvedAttempt.get() < MAX_ATTEMPTS;
+        int attempt = lastPlacementSolvable ? solvedAttempt.get() : 0;
+        candidateGenerator(base, attempt).placeMinesWithOpening(board, numberOfBombs, notHere, radius);
+    }
+
+    /**
+     * This method tells whether the last playing field placed by this generator can be solved without guessing
+     * @return false if no solvable candidate was found in time and the first candidate was taken instead
+     */
+    public boolean isLastPlacementSolvable() {
+        return lastPlacementSolvable;
+    }
+
+    private static BoardGenerator candidateGenerator(long base, int attempt) {
+        return new BoardGenerator(new Random(base + attempt * 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * This method checks whether the playing field can be solved from the first click by revealing only cells
+     * that the solver finds to be certainly safe
+     * @param board the playing field with mines and numbers, the state of its cells is not read
+     * @param numberOfBombs number of mines on the playing field
+     * @param firstClick position of the first revealed cell
+     * @param solver solver for playing fields of the size of board
+     * @return true if all cells without a mine can be revealed without guessing
+     */
+    public static boolean isSolvable(Board board, int numberOfBombs, int firstClick, Solver solver) {
+        int numberOfCells = board.getNumberOfCells();
+        int[] data = board.toDataArray();
+        int[] status = new int[numberOfCells];
+        int[] stack = new int[numberOfCells];
+        NeighbourIndex neighbourIndex = board.getNeighbourIndex();
+
+        if (data[firstClick] == Board.MINE) {
+            return false;
+        }
+        int hidden = numberOfCells - numberOfBombs - open(firstClick, data, status, stack, neighbourIndex);
+        while (hidden > 0) {
+            CellList safeCells = solver.solve(data, status, numberOfBombs).getSafeCells();
+            if (safeCells.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < safeCells.size(); i++) {
+                hidden -= open(safeCells.get(i), data, status, stack, neighbourIndex);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method reveals the cell at position and, like the game does, the neighbours of cells without neighbouring mines
+     * @return number of cells that were revealed
+     */
+    private static int open(int position, int[] data, int[] status, int[] stack, NeighbourIndex neighbourIndex) {
+        if (status[position] == Board.REVEALED) {
+            return 0;
+        }
+        int opened = 0;
+        int top = 0;
+        status[position] = Board.REVEALED;
+        stack[top++] = position;
+        while (top > 0) {
+            int cell = stack[--top];
+            opened++;
+            if (data[cell] != 0) {
+                continue;
+            }
+            for (int offset : neighbourIndex.neighbours(cell)) {
+                int neighbour = cell + offset;
+                if (status[neighbour] != Board.REVEALED) {
+                    status[neighbour] = Board.REVEALED;
+                    stack[top++] = neighbour;
+                }
+            }
+        }
+        return opened;
+    }
+}
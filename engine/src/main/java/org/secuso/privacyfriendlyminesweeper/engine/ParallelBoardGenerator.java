@@ -0,0 +1,330 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * @version 20261017
+ * This class places the mines of large playing fields on several threads of a ForkJoinPool
+ * The playing field is split into bands of rows and every band places its share of the mines with its own
+ * random generator (SplitMix64), in the same way as BoardGenerator does for the whole playing field.
+ * To keep the rule against clusters across the borders of the bands, the even bands are placed first and the
+ * odd bands afterwards, looking at the mines of the even bands next to them. The numbers are filled band by band.
+ * The bands only depend on the size of the playing field, so the mines placed for a given random generator
+ * do not depend on the number of threads
+ */
+public class ParallelBoardGenerator extends BoardGenerator {
+
+    //smaller playing fields are filled on the calling thread, splitting them costs more than it saves
+    public static final int MIN_PARALLEL_CELLS = 1 << 16;
+
+    private static final int MAX_BANDS = 64;
+    //a cluster that can still grow (up to 3 mines) never touches two borders of a band with at least 4 rows,
+    //so two odd bands never add mines to the same cluster
+    private static final int MIN_BAND_ROWS = 8;
+
+    private static final int PLACE_EVEN_BANDS = 0;
+    private static final int PLACE_ODD_BANDS = 1;
+    private static final int FILL_NUMBERS = 2;
+
+    private static ForkJoinPool sharedPool;
+
+    private final Random random;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a generator that uses one thread per core
+     * @param random random generator that chooses the generators of the bands
+     */
+    public ParallelBoardGenerator(Random random) {
+        this(random, getSharedPool());
+    }
+
+    /**
+     * @param random random generator that chooses the generators of the bands
+     * @param pool the threads that fill the bands
+     */
+    public ParallelBoardGenerator(Random random, ForkJoinPool pool) {
+        super(random);
+        this.random = random;
+        this.pool = pool;
+    }
+
+    private static synchronized ForkJoinPool getSharedPool() {
+        //ForkJoinPool.commonPool needs API level 24
+        if (sharedPool == null) {
+            sharedPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return sharedPool;
+    }
+
+    @Override
+    void placeMinesExcept(Board board, int numberOfBombs, boolean[] excluded, int numberOfExcluded) {
+        if (board.getNumberOfCells() < MIN_PARALLEL_CELLS) {
+            super.placeMinesExcept(board, numberOfBombs, excluded, numberOfExcluded);
+            return;
+        }
+
+        Bands bands = new Bands(board, numberOfBombs, excluded, random);
+        pool.invoke(new BandAction(bands, PLACE_EVEN_BANDS, 0, (bands.numberOfBands + 1) / 2));
+        bands.stitch(0);
+        pool.invoke(new BandAction(bands, PLACE_ODD_BANDS, 0, bands.numberOfBands / 2));
+        bands.stitch(1);
+        pool.invoke(new BandAction(bands, FILL_NUMBERS, 0, bands.numberOfBands));
+    }
+
+    /**
+     * This method returns the number of rows of every band but the last one. It is even,
+     * so every band starts at an even position and no two bands share a byte of the numbers of the board
+     * @param numberOfRows number of rows of the playing field
+     * @return number of rows of a band
+     */
+    static int rowsPerBand(int numberOfRows) {
+        int rows = Math.max(MIN_BAND_ROWS, (numberOfRows + MAX_BANDS - 1) / MAX_BANDS);
+        return rows + (rows & 1);
+    }
+
+    /**
+     * This class splits the bands of one step between the threads of the pool
+     * Every action covers the bands first up to end (exclusive), counted among the bands of its step
+     */
+    private static final class BandAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Bands bands;
+        private final int step;
+        private final int first;
+        private final int end;
+
+        BandAction(Bands bands, int step, int first, int end) {
+            this.bands = bands;
+            this.step = step;
+            this.first = first;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - first > 1) {
+                int middle = (first + end) >>> 1;
+                invokeAll(new BandAction(bands, step, first, middle), new BandAction(bands, step, middle, end));
+            } else if (end > first) {
+                if (step == PLACE_EVEN_BANDS) {
+                    bands.place(2 * first);
+                } else if (step == PLACE_ODD_BANDS) {
+                    bands.place(2 * first + 1);
+                } else {
+                    bands.fillNumbers(first);
+                }
+            }
+        }
+    }
+
+    /**
+     * This class holds the state of one placement of mines: the bands, their share of the mines and generators
+     * While a band is placed its mines are only kept by the band, the board is only read.
+     * They are written to the board (stitched) after all bands of the step are done
+     */
+    private static final class Bands {
+
+        private final Board board;
+        private final boolean[] excluded;
+        private final int numberOfColumns;
+        private final int numberOfRows;
+        private final int rowsPerBand;
+        private final int numberOfBands;
+        private final int[] bombsPerBand;
+        private final long[] seeds;
+        private final boolean[][] bandMines;
+
+        Bands(Board board, int numberOfBombs, boolean[] excluded, Random random) {
+            this.board = board;
+            this.excluded = excluded;
+            this.numberOfColumns = board.getNumberOfColumns();
+            this.numberOfRows = board.getNumberOfRows();
+            this.rowsPerBand = rowsPerBand(numberOfRows);
+            this.numberOfBands = (numberOfRows + rowsPerBand - 1) / rowsPerBand;
+            this.bombsPerBand = new int[numberOfBands];
+            this.seeds = new long[numberOfBands];
+            this.bandMines = new boolean[numberOfBands][];
+
+            int[] freeCells = new int[numberOfBands];
+            int allFreeCells = 0;
+            for (int band = 0; band < numberOfBands; band++) {
+                for (int position = firstPosition(band); position < endPosition(band); position++) {
+                    if (!excluded[position]) {
+                        freeCells[band]++;
+                    }
+                }
+                allFreeCells += freeCells[band];
+            }
+
+            //every band gets the share of the mines of its free cells, the rest is put on bands drawn at random
+            //with the number of their free cells as weight
+            numberOfBombs = Math.min(numberOfBombs, allFreeCells);
+            int assigned = 0;
+            for (int band = 0; numberOfBombs > 0 && band < numberOfBands; band++) {
+                bombsPerBand[band] = (int) ((long) numberOfBombs * freeCells[band] / allFreeCells);
+                assigned += bombsPerBand[band];
+            }
+            while (assigned < numberOfBombs) {
+                int cell = random.nextInt(allFreeCells);
+                int band = 0;
+                while (cell >= freeCells[band]) {
+                    cell -= freeCells[band];
+                    band++;
+                }
+                if (bombsPerBand[band] < freeCells[band]) {
+                    bombsPerBand[band]++;
+                    assigned++;
+                }
+            }
+
+            SplitMix64 seedGenerator = new SplitMix64(random.nextLong());
+            for (int band = 0; band < numberOfBands; band++) {
+                seeds[band] = seedGenerator.nextLong();
+            }
+        }
+
+        private int firstPosition(int band) {
+            return band * rowsPerBand * numberOfColumns;
+        }
+
+        private int endPosition(int band) {
+            return Math.min(numberOfRows, (band + 1) * rowsPerBand) * numberOfColumns;
+        }
+
+        /**
+         * This method places the mines of a band like BoardGenerator, with a partial Fisher-Yates shuffle
+         * of the free cells of the band
+         * @param band number of the band
+         */
+        void place(int band) {
+            int first = firstPosition(band);
+            int end = endPosition(band);
+            Random bandRandom = new SplitMix64(seeds[band]);
+            boolean[] mines = new boolean[end - first];
+            bandMines[band] = mines;
+
+            int freeCells = 0;
+            for (int position = first; position < end; position++) {
+                if (!excluded[position]) {
+                    freeCells++;
+                }
+            }
+            int[] candidates = new int[freeCells];
+            for (int position = first, i = 0; position < end; position++) {
+                if (!excluded[position]) {
+                    candidates[i++] = position;
+                }
+            }
+
+            int[] cluster = new int[4];
+            int numberOfBombs = bombsPerBand[band];
+            int placed = 0;
+            int looked = 0;
+            while (placed < numberOfBombs && looked < candidates.length) {
+                int drawn = looked + bandRandom.nextInt(candidates.length - looked);
+                int position = candidates[drawn];
+                candidates[drawn] = candidates[looked];
+                candidates[looked] = position;
+                looked++;
+
+                if (clusterSizeIfPlaced(position, first, mines, cluster) < 4) {
+                    mines[position - first] = true;
+                    placed++;
+                }
+            }
+
+            //if the band is too dense to avoid clusters the remaining bombs are put on skipped candidates
+            for (int i = 0; placed < numberOfBombs && i < candidates.length; i++) {
+                if (!mines[candidates[i] - first]) {
+                    mines[candidates[i] - first] = true;
+                    placed++;
+                }
+            }
+        }
+
+        /**
+         * This method counts the horizontally and vertically connected mines if a mine was put at position,
+         * up to 4. Clusters that can still grow have at most 3 mines, so they are found by a short search
+         * instead of tracking all clusters of the band
+         * @param position position of a cell of the band without a mine
+         * @param first first position of the band
+         * @param mines mines of the band
+         * @param cluster space for the cells found
+         * @return number of connected mines including the new one, at most 4
+         */
+        private int clusterSizeIfPlaced(int position, int first, boolean[] mines, int[] cluster) {
+            NeighbourIndex neighbourIndex = board.getNeighbourIndex();
+            int size = 0;
+            cluster[size++] = position;
+            for (int i = 0; i < size && size < 4; i++) {
+                for (int offset : neighbourIndex.orthogonalNeighbours(cluster[i])) {
+                    int neighbour = cluster[i] + offset;
+                    if (size < 4 && isMine(neighbour, first, mines) && !contains(cluster, size, neighbour)) {
+                        cluster[size++] = neighbour;
+                    }
+                }
+            }
+            return size;
+        }
+
+        private boolean isMine(int position, int first, boolean[] mines) {
+            //cells outside of the band belong to bands that are already stitched or not placed yet
+            if (position >= first && position < first + mines.length) {
+                return mines[position - first];
+            }
+            return board.isMine(position);
+        }
+
+        private static boolean contains(int[] cells, int size, int cell) {
+            for (int i = 0; i < size; i++) {
+                if (cells[i] == cell) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * This method writes the mines of every second band, starting with firstBand, to the board
+         * @param firstBand 0 for the even bands, 1 for the odd bands
+         */
+        void stitch(int firstBand) {
+            for (int band = firstBand; band < numberOfBands; band += 2) {
+                int first = firstPosition(band);
+                boolean[] mines = bandMines[band];
+                for (int i = 0; i < mines.length; i++) {
+                    if (mines[i]) {
+                        board.setMine(first + i);
+                    }
+                }
+                bandMines[band] = null;
+            }
+        }
+
+        void fillNumbers(int band) {
+            board.fillNumbers(band * rowsPerBand, Math.min(numberOfRows, (band + 1) * rowsPerBand));
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * @version 20261017
+ * This class converts a game into the binary format of saved games and back
+ * Both versions start with a header, numbers in big-endian byte order:
+ * - 4 bytes magic "PFMS", 1 byte version, 1 byte flags (bit 0 = payload compressed with Deflater)
+ * - 4 bytes number of columns, 4 bytes number of rows
+ * Version 1 (board) payload: the mines with one bit per cell, then the states with two bits per cell
+ * (0 = covered, 1 = revealed, 2 = marked). The numbers of neighbouring mines are computed again when a game is loaded
+ * The bits are copied word by word from the bitsets of the board, so no per-cell objects are created
+ * Version 2 (seed) payload, never compressed: 4 bytes number of mines, 1 byte BoardGenerator.VERSION, 8 bytes seed,
+ * 4 bytes first click (-1 if the mines are not placed yet), then the MoveLog. The mines are placed again with the seed
+ * and the moves are replayed, so the size does not depend on the size of the playing field
+ */
+public final class SavedGameCodec {
+
+    public static final int VERSION_BOARD = 1;
+    public static final int VERSION_SEED = 2;
+    public static final int FLAG_COMPRESSED = 1;
+
+    private static final byte[] MAGIC = {'P', 'F', 'M', 'S'};
+    private static final int HEADER_LENGTH = MAGIC.length + 2 + 8;
+
+    private SavedGameCodec() {
+    }
+
+    /**
+     * This method encodes a game, as seed and moves if its mines were placed with a seed, else as board
+     * @param engine the game to encode
+     * @param compress true to compress the payload of a board
+     * @return the encoded game
+     */
+    public static byte[] encodeGame(GameEngine engine, boolean compress) {
+        if (!engine.isSeeded()) {
+            return encode(engine.getBoard(), compress);
+        }
+
+        Board board = engine.getBoard();
+        byte[] moves = engine.getMoveLog() == null ? new byte[0] : engine.getMoveLog().toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + 17 + moves.length);
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION_SEED);
+        buffer.put((byte) 0);
+        buffer.putInt(board.getNumberOfColumns());
+        buffer.putInt(board.getNumberOfRows());
+        buffer.putInt(engine.getNumberOfBombs());
+        buffer.put((byte) BoardGenerator.VERSION);
+        buffer.putLong(engine.getSeed());
+        buffer.putInt(engine.getFirstClick());
+        buffer.put(moves);
+        return buffer.array();
+    }
+
+    /**
+     * This method creates a game from its encoded form
+     * @param encoded the encoded game
+     * @param numberOfBombs number of mines of the game, only used for version 1 (version 2 stores it)
+     * @return an engine with the playing field in the saved state
+     * @throws IllegalArgumentException if the data is not a saved game of a supported version
+     */
+    public static GameEngine decodeGame(byte[] encoded, int numberOfBombs) {
+        ByteBuffer buffer = readHeader(encoded);
+        int version = encoded[MAGIC.length];
+        int columns = buffer.getInt(MAGIC.length + 2);
+        int rows = buffer.getInt(MAGIC.length + 6);
+        if (version == VERSION_SEED) {
+            return decodeSeed(buffer, columns, rows);
+        }
+        return new GameEngine(decodeBoard(encoded, columns, rows), numberOfBombs);
+    }
+
+    /**
+     * This method encodes the mines and states of a board
+     * @param board the board to encode
+     * @param compress true to compress the payload
+     * @return the encoded board
+     */
+    public static byte[] encode(Board board, boolean compress) {
+        int cells = board.getNumberOfCells();
+        int mineBytes = (cells + 7) >>> 3;
+        byte[] payload = new byte[mineBytes + ((cells + 3) >>> 2)];
+
+        long[] mines = board.mineBits();
+        for (int i = 0; i < mineBytes; i++) {
+            payload[i] = (byte) (mines[i >>> 3] >>> ((i & 7) << 3));
+        }
+
+        //the two bits of a cell are its revealed bit and its marked bit next to each other,
+        //64 cells of the bitsets become 16 bytes of states
+        long[] revealed = board.revealedBits();
+        long[] marked = board.markedBits();
+        for (int word = 0, offset = mineBytes; word < revealed.length; word++) {
+            long low = spread((int) revealed[word]) | (spread((int) marked[word]) << 1);
+            long high = spread((int) (revealed[word] >>> 32)) | (spread((int) (marked[word] >>> 32)) << 1);
+            for (int i = 0; i < 16 && offset < payload.length; i++, offset++) {
+                payload[offset] = (byte) ((i < 8 ? low : high) >>> ((i & 7) << 3));
+            }
+        }
+
+        byte flags = 0;
+        if (compress) {
+            payload = deflate(payload);
+            flags |= FLAG_COMPRESSED;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + payload.length);
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION_BOARD);
+        buffer.put(flags);
+        buffer.putInt(board.getNumberOfColumns());
+        buffer.putInt(board.getNumberOfRows());
+        buffer.put(payload);
+        return buffer.array();
+    }
+
+    /**
+     * This method creates a board from its encoded form
+     * @param encoded the encoded board or game
+     * @return the board with mines, numbers and states
+     * @throws IllegalArgumentException if the data is not a saved game of a supported version
+     */
+    public static Board decode(byte[] encoded) {
+        return decodeGame(encoded, 0).getBoard();
+    }
+
+    /**
+     * This method checks the header of a saved game
+     * @return a buffer positioned behind the header
+     */
+    private static ByteBuffer readHeader(byte[] encoded) {
+        if (encoded == null || encoded.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Saved game is too short");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        for (byte b : MAGIC) {
+            if (buffer.get() != b) {
+                throw new IllegalArgumentException("Not a saved game");
+            }
+        }
+        int version = buffer.get();
+        if (version != VERSION_BOARD && version != VERSION_SEED) {
+            throw new IllegalArgumentException("Unsupported version of saved game: " + version);
+        }
+        buffer.get();
+        int columns = buffer.getInt();
+        int rows = buffer.getInt();
+        if (columns <= 0 || rows <= 0 || (long) columns * rows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid size of saved game: " + columns + "x" + rows);
+        }
+        return buffer;
+    }
+
+    /**
+     * This method regenerates the mines of a game saved with a seed and replays its moves
+     */
+    private static GameEngine decodeSeed(ByteBuffer buffer, int columns, int rows) {
+        if (buffer.remaining() < 17) {
+            throw new IllegalArgumentException("Saved game is too short");
+        }
+        int numberOfBombs = buffer.getInt();
+        int generatorVersion = buffer.get();
+        long seed = buffer.getLong();
+        int firstClick = buffer.getInt();
+        if (generatorVersion != BoardGenerator.VERSION) {
+            throw new IllegalArgumentException("Saved game needs another placement of mines: " + generatorVersion);
+        }
+        int cells = columns * rows;
+        if (numberOfBombs < 0 || numberOfBombs >= cells || firstClick < -1 || firstClick >= cells) {
+            throw new IllegalArgumentException("Invalid saved game");
+        }
+
+        GameEngine engine = new GameEngine(new Board(columns, rows), numberOfBombs, seed);
+        if (firstClick >= 0) {
+            engine.placeMines(firstClick);
+            MoveLog.fromBytes(firstClick, buffer.array(), buffer.position(), buffer.remaining()).replay(engine);
+        }
+        return engine;
+    }
+
+    /**
+     * This method creates a board from the payload of version 1
+     */
+    private static Board decodeBoard(byte[] encoded, int columns, int rows) {
+        int flags = encoded[MAGIC.length + 1];
+        int cells = columns * rows;
+        int mineBytes = (cells + 7) >>> 3;
+        int payloadLength = mineBytes + ((cells + 3) >>> 2);
+        byte[] payload;
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            payload = inflate(encoded, HEADER_LENGTH, encoded.length - HEADER_LENGTH, payloadLength);
+        } else {
+            if (encoded.length - HEADER_LENGTH != payloadLength) {
+                throw new IllegalArgumentException("Saved game has the wrong length");
+            }
+            payload = new byte[payloadLength];
+            System.arraycopy(encoded, HEADER_LENGTH, payload, 0, payloadLength);
+        }
+
+        Board board = new Board(columns, rows);
+        long[] mines = board.mineBits();
+        for (int i = 0; i < mineBytes; i++) {
+            mines[i >>> 3] |= (payload[i] & 0xFFL) << ((i & 7) << 3);
+        }
+
+        long[] revealed = board.revealedBits();
+        long[] marked = board.markedBits();
+        for (int word = 0, offset = mineBytes; word < revealed.length; word++) {
+            long low = 0;
+            long high = 0;
+            for (int i = 0; i < 16 && offset < payload.length; i++, offset++) {
+                long b = (payload[offset] & 0xFFL) << ((i & 7) << 3);
+                if (i < 8) {
+                    low |= b;
+                } else {
+                    high |= b;
+                }
+            }
+            revealed[word] = (compact(low) & 0xFFFFFFFFL) | ((long) compact(high) << 32);
+            marked[word] = (compact(low >>> 1) & 0xFFFFFFFFL) | ((long) compact(high >>> 1) << 32);
+            if ((revealed[word] & marked[word]) != 0) {
+                throw new IllegalArgumentException("Invalid state in saved game");
+            }
+        }
+
+        //bits behind the last cell must not count
+        int usedBits = cells & 63;
+        if (usedBits != 0) {
+            long mask = -1L >>> (64 - usedBits);
+            int last = mines.length - 1;
+            mines[last] &= mask;
+            revealed[last] &= mask;
+            marked[last] &= mask;
+        }
+
+        board.fillNumbers();
+        return board;
+    }
+
+    /**
+     * This method moves the 32 bits of x to the even bits of a long
+     */
+    private static long spread(int x) {
+        long v = x & 0xFFFFFFFFL;
+        v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & 0x5555555555555555L;
+        return v;
+    }
+
+    /**
+     * This method collects the even bits of v, it is the inverse of spread
+     */
+    private static int compact(long v) {
+        v &= 0x5555555555555555L;
+        v = (v | (v >>> 1)) & 0x3333333333333333L;
+        v = (v | (v >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v >>> 4)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v >>> 8)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v >>> 16)) & 0x00000000FFFFFFFFL;
+        return (int) v;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 16);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                out.write(chunk, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length, int expectedLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, length);
+            byte[] result = new byte[expectedLength];
+            int filled = 0;
+            while (filled < expectedLength && !inflater.finished()) {
+                int inflated = inflater.inflate(result, filled, expectedLength - filled);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                filled += inflated;
+            }
+            if (filled != expectedLength || !inflater.finished()) {
+                throw new IllegalArgumentException("Saved game has the wrong length");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Saved game is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
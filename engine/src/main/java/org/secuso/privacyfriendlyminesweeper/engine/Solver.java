@@ -0,0 +1,715 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import java.util.Arrays;
+
+/**
+ * @version 20261017
+ * This class finds the cells that are certainly safe or certainly mines from what the user can see:
+ * the numbers of the revealed cells and the total number of mines. Marks set by the user are not trusted.
+ * First the numbers are used as constraints on their covered neighbours: a single number can decide all of its
+ * neighbours, and two overlapping numbers can decide the cells that only one of them touches.
+ * The covered cells that are still undecided are split into independent groups, all placements of mines in a group
+ * are enumerated by backtracking, and the groups are combined with the number of mines left for the remaining cells.
+ * That gives the exact probability of a mine for every covered cell.
+ *
+ * A solver keeps its buffers between calls, so one instance must not be used by several threads at the same time
+ */
+public class Solver {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte SAFE = 1;
+    private static final byte MINE = 2;
+
+    //enumeration of a group is stopped after this many steps, its cells then count as cells away from the numbers
+    private static final int MAX_STEPS = 1 << 18;
+
+    //binomial coefficients up to 8, the largest possible class of cells
+    private static final int[][] BINOMIALS = new int[9][9];
+
+    static {
+        for (int n = 0; n <= 8; n++) {
+            BINOMIALS[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + (k < n ? BINOMIALS[n - 1][k] : 0);
+            }
+        }
+    }
+
+    private final int numberOfColumns;
+    private final int numberOfRows;
+    private final int numberOfCells;
+    private final NeighbourIndex neighbourIndex;
+    //logarithms of n!, for the number of ways to place the mines that are not next to a number
+    private final double[] logFactorials;
+
+    private final byte[] state;
+    //constraint c: the number constraintValue[c] is shared by the covered cells constraintCells[8c .. 8c + constraintSize[c])
+    private final int[] constraintValue;
+    private final int[] constraintCells;
+    private final int[] constraintSize;
+    private final boolean[] active;
+    private int numberOfConstraints;
+    //constraints of covered cell p: cellConstraints[8p .. 8p + cellConstraintCount[p])
+    private final int[] cellConstraints;
+    private final int[] cellConstraintCount;
+
+    //state of the enumeration: mines still needed and cells still open of every constraint
+    private final int[] need;
+    private final int[] free;
+    private final int[] order;
+    //cells of a group that touch the same numbers form a class, only the number of mines in a class is enumerated
+    //the cells of class k are order[classStart[k] .. classStart[k + 1])
+    private final int[] classStart;
+    private final int[] classMines;
+    private int firstClass;
+    private int endClass;
+    private int minesAssigned;
+    private int steps;
+    private double[] distribution;
+    private double[][] classDistribution;
+
+    //groups of undecided cells that share numbers, each with its placements counted by number of mines
+    private final boolean[] inGroup;
+    //cells of groups with too many placements, they are never used to start a group again
+    private final boolean[] abandoned;
+    private final int[] groupFirstClass;
+    private final double[][] groupDistribution;
+    private final double[][][] groupClassDistribution;
+    private final int[] buffer;
+    private final double[] probabilities;
+
+    /**
+     * Creates a solver for playing fields of the given size
+     * @param numberOfColumns number of columns of the playing field
+     * @param numberOfRows number of rows of the playing field
+     */
+    public Solver(int numberOfColumns, int numberOfRows) {
+        this.numberOfColumns = numberOfColumns;
+        this.numberOfRows = numberOfRows;
+        this.numberOfCells = numberOfColumns * numberOfRows;
+        this.neighbourIndex = NeighbourIndex.forSize(numberOfColumns, numberOfRows);
+
+        logFactorials = new double[numberOfCells + 1];
+        for (int n = 2; n <= numberOfCells; n++) {
+            logFactorials[n] = logFactorials[n - 1] + Math.log(n);
+        }
+
+        state = new byte[numberOfCells];
+        constraintValue = new int[numberOfCells];
+        constraintCells = new int[numberOfCells * 8];
+        constraintSize = new int[numberOfCells];
+        active = new boolean[numberOfCells];
+        cellConstraints = new int[numberOfCells * 8];
+        cellConstraintCount = new int[numberOfCells];
+        need = new int[numberOfCells];
+        free = new int[numberOfCells];
+        order = new int[numberOfCells];
+        classStart = new int[numberOfCells + 1];
+        classMines = new int[numberOfCells];
+        inGroup = new boolean[numberOfCells];
+        abandoned = new boolean[numberOfCells];
+        groupFirstClass = new int[numberOfCells + 1];
+        groupDistribution = new double[numberOfCells][];
+        groupClassDistribution = new double[numberOfCells][][];
+        buffer = new int[numberOfCells];
+        probabilities = new double[numberOfCells];
+    }
+
+    /**
+     * This method solves the playing field as far as the revealed cells allow it
+     * @param board the playing field, only the values of revealed cells are read
+     * @param numberOfBombs number of mines on the playing field
+     * @return the certainly safe cells, the certain mines and the probability of a mine for every cell,
+     * the probabilities are reused by the next call
+     */
+    public Result solve(Board board, int numberOfBombs) {
+        if (board.getNumberOfColumns() != numberOfColumns || board.getNumberOfRows() != numberOfRows) {
+            throw new IllegalArgumentException("Solver for " + numberOfColumns + "x" + numberOfRows + " can not solve "
+                    + board.getNumberOfColumns() + "x" + board.getNumberOfRows());
+        }
+        return solve(board.toDataArray(), board.toStatusArray(), numberOfBombs);
+    }
+
+    /**
+     * This method solves the playing field as far as the revealed cells allow it
+     * @param data content of the cells (as in Board.toDataArray), only read for revealed cells
+     * @param status state of the cells (as in Board.toStatusArray)
+     * @param numberOfBombs number of mines on the playing field
+     * @return the certainly safe cells, the certain mines and the probability of a mine for every cell,
+     * the probabilities are reused by the next call
+     */
+    public Result solve(int[] data, int[] status, int numberOfBombs) {
+        if (data.length != numberOfCells || status.length != numberOfCells) {
+            throw new IllegalArgumentException("Size of data and status does not match " + numberOfColumns + "x" + numberOfRows);
+        }
+
+        buildConstraints(data, status);
+        propagate();
+
+        Arrays.fill(probabilities, 0);
+        enumerateAndCombine(numberOfBombs);
+
+        CellList safeCells = new CellList();
+        CellList mines = new CellList();
+        for (int position = 0; position < numberOfCells; position++) {
+            if (status[position] == Board.REVEALED) {
+                continue;
+            }
+            if (state[position] == SAFE) {
+                safeCells.add(position);
+            } else if (state[position] == MINE) {
+                mines.add(position);
+            }
+        }
+        return new Result(probabilities, safeCells, mines);
+    }
+
+    private void buildConstraints(int[] data, int[] status) {
+        numberOfConstraints = 0;
+        for (int position = 0; position < numberOfCells; position++) {
+            state[position] = status[position] == Board.REVEALED ? SAFE : UNKNOWN;
+            cellConstraintCount[position] = 0;
+        }
+
+        for (int position = 0; position < numberOfCells; position++) {
+            if (status[position] != Board.REVEALED) {
+                continue;
+            }
+            int c = numberOfConstraints;
+            int size = 0;
+            for (int offset : neighbourIndex.neighbours(position)) {
+                int neighbour = position + offset;
+                if (status[neighbour] != Board.REVEALED) {
+                    constraintCells[8 * c + size++] = neighbour;
+                    cellConstraints[8 * neighbour + cellConstraintCount[neighbour]++] = c;
+                }
+            }
+            if (data[position] > size || data[position] >= Board.MINE) {
+                throw inconsistent();
+            }
+            if (size > 0) {
+                constraintValue[c] = data[position];
+                constraintSize[c] = size;
+                active[c] = true;
+                numberOfConstraints++;
+            }
+        }
+    }
+
+    /**
+     * This method decides cells by single numbers and by pairs of overlapping numbers until nothing changes
+     */
+    private void propagate() {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int c = 0; c < numberOfConstraints; c++) {
+                if (!active[c]) {
+                    continue;
+                }
+                int unknown = 0;
+                int remaining = constraintValue[c];
+                for (int i = 8 * c; i < 8 * c + constraintSize[c]; i++) {
+                    byte cell = state[constraintCells[i]];
+                    if (cell == UNKNOWN) {
+                        unknown++;
+                    } else if (cell == MINE) {
+                        remaining--;
+                    }
+                }
+                if (remaining < 0 || remaining > unknown) {
+                    throw inconsistent();
+                }
+                if (unknown == 0) {
+                    active[c] = false;
+                } else if (remaining == 0 || remaining == unknown) {
+                    setUnknownCells(c, -1, remaining == 0 ? SAFE : MINE);
+                    active[c] = false;
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                changed = propagatePairs();
+            }
+        }
+    }
+
+    /**
+     * This method compares every number with the numbers that share a covered cell with it
+     * @return true if a cell was decided
+     */
+    private boolean propagatePairs() {
+        boolean changed = false;
+        for (int a = 0; a < numberOfConstraints; a++) {
+            for (int i = 8 * a; active[a] && i < 8 * a + constraintSize[a]; i++) {
+                int shared = constraintCells[i];
+                if (state[shared] != UNKNOWN) {
+                    continue;
+                }
+                for (int j = 8 * shared; j < 8 * shared + cellConstraintCount[shared]; j++) {
+                    int b = cellConstraints[j];
+                    if (b != a && active[b] && comparePair(a, b)) {
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * This method decides the covered cells of a that b does not touch, if the mines shared by a and b allow it
+     * @return true if cells were decided
+     */
+    private boolean comparePair(int a, int b) {
+        int onlyA = 0;
+        int both = 0;
+        int remainingA = constraintValue[a];
+        for (int i = 8 * a; i < 8 * a + constraintSize[a]; i++) {
+            int cell = constraintCells[i];
+            if (state[cell] == MINE) {
+                remainingA--;
+            } else if (state[cell] == UNKNOWN) {
+                if (touches(b, cell)) {
+                    both++;
+                } else {
+                    onlyA++;
+                }
+            }
+        }
+        int unknownB = 0;
+        int remainingB = constraintValue[b];
+        for (int i = 8 * b; i < 8 * b + constraintSize[b]; i++) {
+            int cell = constraintCells[i];
+            if (state[cell] == MINE) {
+                remainingB--;
+            } else if (state[cell] == UNKNOWN) {
+                unknownB++;
+            }
+        }
+        int onlyB = unknownB - both;
+        if (onlyA == 0) {
+            return false;
+        }
+
+        //bounds of the number of mines on the cells shared by a and b
+        int low = Math.max(0, Math.max(remainingA - onlyA, remainingB - onlyB));
+        int high = Math.min(both, Math.min(remainingA, remainingB));
+        if (low > high) {
+            throw inconsistent();
+        }
+        if (remainingA - low == 0) {
+            setUnknownCells(a, b, SAFE);
+            return true;
+        }
+        if (remainingA - high == onlyA) {
+            setUnknownCells(a, b, MINE);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean touches(int c, int cell) {
+        for (int i = 8 * c; i < 8 * c + constraintSize[c]; i++) {
+            if (constraintCells[i] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method sets the undecided cells of constraint c to value, except the cells that constraint except touches
+     */
+    private void setUnknownCells(int c, int except, byte value) {
+        for (int i = 8 * c; i < 8 * c + constraintSize[c]; i++) {
+            int cell = constraintCells[i];
+            if (state[cell] == UNKNOWN && (except < 0 || !touches(except, cell))) {
+                state[cell] = value;
+            }
+        }
+    }
+
+    /**
+     * This method enumerates the placements of mines for every group of undecided cells next to numbers,
+     * combines them with the cells away from the numbers and fills in the probabilities.
+     * Cells that are safe or mines in every placement are decided as well
+     */
+    private void enumerateAndCombine(int numberOfBombs) {
+        int minesLeft = numberOfBombs;
+        for (int position = 0; position < numberOfCells; position++) {
+            if (state[position] == MINE) {
+                minesLeft--;
+            }
+        }
+        if (minesLeft < 0) {
+            throw inconsistent();
+        }
+
+        for (int c = 0; c < numberOfConstraints; c++) {
+            if (!active[c]) {
+                continue;
+            }
+            need[c] = constraintValue[c];
+            free[c] = 0;
+            for (int i = 8 * c; i < 8 * c + constraintSize[c]; i++) {
+                byte cell = state[constraintCells[i]];
+                if (cell == MINE) {
+                    need[c]--;
+                } else if (cell == UNKNOWN) {
+                    free[c]++;
+                }
+            }
+        }
+
+        Arrays.fill(inGroup, false);
+        Arrays.fill(abandoned, false);
+        int numberOfGroups = 0;
+        int numberOfClasses = 0;
+        int ordered = 0;
+        for (int c = 0; c < numberOfConstraints; c++) {
+            for (int i = 8 * c; active[c] && i < 8 * c + constraintSize[c]; i++) {
+                int start = constraintCells[i];
+                if (state[start] != UNKNOWN || inGroup[start] || abandoned[start]) {
+                    continue;
+                }
+                int groupStart = ordered;
+                inGroup[start] = true;
+                order[ordered++] = start;
+                for (int next = groupStart; next < ordered; next++) {
+                    int cell = order[next];
+                    for (int j = 8 * cell; j < 8 * cell + cellConstraintCount[cell]; j++) {
+                        int d = cellConstraints[j];
+                        for (int k = 8 * d; active[d] && k < 8 * d + constraintSize[d]; k++) {
+                            int neighbour = constraintCells[k];
+                            if (state[neighbour] == UNKNOWN && !inGroup[neighbour]) {
+                                inGroup[neighbour] = true;
+                                order[ordered++] = neighbour;
+                            }
+                        }
+                    }
+                }
+
+                //sort the cells into classes, keeping the order in which they were found
+                int size = ordered - groupStart;
+                System.arraycopy(order, groupStart, buffer, 0, size);
+                firstClass = numberOfClasses;
+                int sorted = groupStart;
+                for (int j = 0; j < size; j++) {
+                    if (buffer[j] < 0) {
+                        continue;
+                    }
+                    classStart[numberOfClasses++] = sorted;
+                    int first = buffer[j];
+                    order[sorted++] = first;
+                    for (int k = j + 1; k < size; k++) {
+                        if (buffer[k] >= 0 && sameConstraints(first, buffer[k])) {
+                            order[sorted++] = buffer[k];
+                            buffer[k] = -1;
+                        }
+                    }
+                }
+                endClass = numberOfClasses;
+                classStart[endClass] = ordered;
+
+                distribution = new double[size + 1];
+                classDistribution = new double[endClass - firstClass][size + 1];
+                minesAssigned = 0;
+                steps = 0;
+                enumerate(firstClass, 1);
+                if (steps > MAX_STEPS) {
+                    //too many placements, the cells of the group are treated like cells away from the numbers
+                    //all cells of the group are connected to each other, so none of them can start a smaller group
+                    for (int k = groupStart; k < ordered; k++) {
+                        inGroup[order[k]] = false;
+                        abandoned[order[k]] = true;
+                    }
+                    ordered = groupStart;
+                    numberOfClasses = firstClass;
+                    continue;
+                }
+                groupFirstClass[numberOfGroups] = firstClass;
+                groupDistribution[numberOfGroups] = distribution;
+                groupClassDistribution[numberOfGroups] = classDistribution;
+                numberOfGroups++;
+                groupFirstClass[numberOfGroups] = endClass;
+            }
+        }
+
+        int otherCells = 0;
+        for (int position = 0; position < numberOfCells; position++) {
+            if (state[position] == UNKNOWN && !inGroup[position]) {
+                otherCells++;
+            }
+        }
+
+        //placements of all groups together, by number of mines
+        double[] total = {1};
+        for (int g = 0; g < numberOfGroups; g++) {
+            total = convolve(total, groupDistribution[g]);
+        }
+
+        //relative number of ways to put the other mines on the cells away from the numbers, by number of mines in the groups
+        //possible[k] is kept apart from the weights, which may be too small for a double
+        double[] weights = new double[total.length];
+        boolean[] possible = new boolean[total.length];
+        double maxLog = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < total.length; k++) {
+            int rest = minesLeft - k;
+            if (rest >= 0 && rest <= otherCells) {
+                maxLog = Math.max(maxLog, logBinomial(otherCells, rest));
+            }
+        }
+        for (int k = 0; k < total.length; k++) {
+            int rest = minesLeft - k;
+            if (rest >= 0 && rest <= otherCells) {
+                weights[k] = Math.exp(logBinomial(otherCells, rest) - maxLog);
+                possible[k] = true;
+            }
+        }
+
+        double sum = 0;
+        double otherMines = 0;
+        boolean otherSafe = true;
+        boolean otherMine = true;
+        for (int k = 0; k < total.length; k++) {
+            if (total[k] > 0 && possible[k]) {
+                double weight = total[k] * weights[k];
+                sum += weight;
+                otherMines += weight * (minesLeft - k);
+                otherSafe &= minesLeft - k == 0;
+                otherMine &= minesLeft - k == otherCells;
+            }
+        }
+        if (!hasPossible(total, possible)) {
+            throw inconsistent();
+        }
+
+        for (int g = 0; g < numberOfGroups; g++) {
+            double[] others = {1};
+            for (int h = 0; h < numberOfGroups; h++) {
+                if (h != g) {
+                    others = convolve(others, groupDistribution[h]);
+                }
+            }
+            double[] distributionOfGroup = groupDistribution[g];
+            //weight of all placements of the other groups and cells, by number of mines in this group
+            double[] groupWeights = new double[distributionOfGroup.length];
+            boolean[] groupPossible = new boolean[distributionOfGroup.length];
+            for (int k = 0; k < distributionOfGroup.length; k++) {
+                for (int j = 0; j < others.length && k + j < weights.length; j++) {
+                    if (others[j] > 0 && possible[k + j]) {
+                        groupWeights[k] += others[j] * weights[k + j];
+                        groupPossible[k] = true;
+                    }
+                }
+            }
+
+            for (int k = groupFirstClass[g]; k < groupFirstClass[g + 1]; k++) {
+                //mines in the class, summed over all placements
+                double[] mines = groupClassDistribution[g][k - groupFirstClass[g]];
+                int size = classStart[k + 1] - classStart[k];
+                double weightedMines = 0;
+                boolean safe = true;
+                boolean mine = true;
+                for (int m = 0; m < distributionOfGroup.length; m++) {
+                    if (groupPossible[m] && distributionOfGroup[m] > 0) {
+                        weightedMines += mines[m] * groupWeights[m];
+                        safe &= mines[m] == 0;
+                        mine &= mines[m] == size * distributionOfGroup[m];
+                    }
+                }
+                for (int i = classStart[k]; i < classStart[k + 1]; i++) {
+                    int position = order[i];
+                    probabilities[position] = weightedMines / sum / size;
+                    if (safe) {
+                        state[position] = SAFE;
+                        probabilities[position] = 0;
+                    } else if (mine) {
+                        state[position] = MINE;
+                        probabilities[position] = 1;
+                    }
+                }
+            }
+        }
+
+        double otherProbability = otherCells > 0 ? otherMines / sum / otherCells : 0;
+        for (int position = 0; position < numberOfCells; position++) {
+            if (state[position] == UNKNOWN && !inGroup[position]) {
+                probabilities[position] = otherProbability;
+                if (otherSafe) {
+                    state[position] = SAFE;
+                    probabilities[position] = 0;
+                } else if (otherMine) {
+                    state[position] = MINE;
+                    probabilities[position] = 1;
+                }
+            } else if (state[position] == MINE) {
+                probabilities[position] = 1;
+            }
+        }
+    }
+
+    /**
+     * This method tries every number of mines for the class k and counts every complete placement of the group
+     * @param k index of the class
+     * @param weight number of placements of the mines in the classes before k
+     */
+    private void enumerate(int k, double weight) {
+        if (++steps > MAX_STEPS) {
+            return;
+        }
+        if (k == endClass) {
+            distribution[minesAssigned] += weight;
+            for (int j = firstClass; j < endClass; j++) {
+                classDistribution[j - firstClass][minesAssigned] += weight * classMines[j];
+            }
+            return;
+        }
+
+        int size = classStart[k + 1] - classStart[k];
+        int cell = order[classStart[k]];
+        for (int mines = 0; mines <= size && steps <= MAX_STEPS; mines++) {
+            boolean possible = true;
+            for (int j = 8 * cell; j < 8 * cell + cellConstraintCount[cell]; j++) {
+                int c = cellConstraints[j];
+                if (active[c]) {
+                    free[c] -= size;
+                    need[c] -= mines;
+                    possible &= need[c] >= 0 && need[c] <= free[c];
+                }
+            }
+            if (possible) {
+                classMines[k] = mines;
+                minesAssigned += mines;
+                enumerate(k + 1, weight * BINOMIALS[size][mines]);
+                minesAssigned -= mines;
+            }
+            for (int j = 8 * cell; j < 8 * cell + cellConstraintCount[cell]; j++) {
+                int c = cellConstraints[j];
+                if (active[c]) {
+                    free[c] += size;
+                    need[c] += mines;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the undecided cells a and b touch the same numbers
+     */
+    private boolean sameConstraints(int a, int b) {
+        int i = 8 * a;
+        int j = 8 * b;
+        int endA = i + cellConstraintCount[a];
+        int endB = j + cellConstraintCount[b];
+        while (true) {
+            //the constraints of a cell are sorted, inactive ones are skipped
+            while (i < endA && !active[cellConstraints[i]]) {
+                i++;
+            }
+            while (j < endB && !active[cellConstraints[j]]) {
+                j++;
+            }
+            if (i == endA || j == endB) {
+                return i == endA && j == endB;
+            }
+            if (cellConstraints[i++] != cellConstraints[j++]) {
+                return false;
+            }
+        }
+    }
+
+    private static boolean hasPossible(double[] total, boolean[] possible) {
+        for (int k = 0; k < total.length; k++) {
+            if (total[k] > 0 && possible[k]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double[] convolve(double[] a, double[] b) {
+        double[] result = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] += a[i] * b[j];
+            }
+        }
+        return result;
+    }
+
+    private double logBinomial(int n, int k) {
+        return logFactorials[n] - logFactorials[k] - logFactorials[n - k];
+    }
+
+    private static IllegalArgumentException inconsistent() {
+        return new IllegalArgumentException("No placement of mines fits the revealed numbers");
+    }
+
+    /**
+     * This class holds what the solver found out about a playing field
+     */
+    public static final class Result {
+
+        private final double[] mineProbabilities;
+        private final CellList safeCells;
+        private final CellList mines;
+
+        private Result(double[] mineProbabilities, CellList safeCells, CellList mines) {
+            this.mineProbabilities = mineProbabilities;
+            this.safeCells = safeCells;
+            this.mines = mines;
+        }
+
+        /**
+         * @return the covered cells that are safe in every placement of the mines
+         */
+        public CellList getSafeCells() {
+            return safeCells;
+        }
+
+        /**
+         * @return the covered cells that are mines in every placement of the mines
+         */
+        public CellList getMines() {
+            return mines;
+        }
+
+        /**
+         * @param position position of the cell on the playing field
+         * @return probability of a mine in the cell, 0 for revealed cells
+         */
+        public double getMineProbability(int position) {
+            return mineProbabilities[position];
+        }
+
+        /**
+         * @return a copy of the probabilities of all cells
+         */
+        public double[] getMineProbabilities() {
+            return Arrays.copyOf(mineProbabilities, mineProbabilities.length);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the mine placement implemented by BoardGenerator
+ */
+public class BoardGeneratorTest {
+
+    /**
+     * Returns the size of the largest group of horizontally and vertically connected mines
+     */
+    private static int largestCluster(Board board) {
+        int numberOfCells = board.getNumberOfCells();
+        boolean[] visited = new boolean[numberOfCells];
+        int[] stack = new int[numberOfCells];
+        int largest = 0;
+        for (int start = 0; start < numberOfCells; start++) {
+            if (!board.isMine(start) || visited[start]) {
+                continue;
+            }
+            int size = 0;
+            int top = 0;
+            stack[top++] = start;
+            visited[start] = true;
+            while (top > 0) {
+                int position = stack[--top];
+                size++;
+                for (int offset : board.getNeighbourIndex().orthogonalNeighbours(position)) {
+                    int neighbour = position + offset;
+                    if (board.isMine(neighbour) && !visited[neighbour]) {
+                        visited[neighbour] = true;
+                        stack[top++] = neighbour;
+                    }
+                }
+            }
+            largest = Math.max(largest, size);
+        }
+        return largest;
+    }
+
+    @Test
+    public void placeMines_avoidsClustersOfFourMines() {
+        for (int seed = 0; seed < 50; seed++) {
+            Board board = new Board(12, 19);
+            new BoardGenerator(new Random(seed)).placeMines(board, 46, 0);
+
+            assertEquals(46, board.countMines());
+            assertFalse(board.isMine(0));
+            assertTrue(largestCluster(board) < 4);
+        }
+    }
+
+    @Test
+    public void placeMines_handlesThousandsOfMines() {
+        Board board = new Board(200, 200);
+        new BoardGenerator(new Random(3)).placeMines(board, 8000, 20100);
+
+        assertEquals(8000, board.countMines());
+        assertTrue(largestCluster(board) < 4);
+    }
+
+    @Test
+    public void placeMines_isDeterministicForSameSeed() {
+        Board first = new Board(20, 25);
+        Board second = new Board(20, 25);
+        new BoardGenerator(new Random(42)).placeMines(first, 100, 17);
+        new BoardGenerator(new Random(42)).placeMines(second, 100, 17);
+
+        for (int i = 0; i < first.getNumberOfCells(); i++) {
+            assertEquals(first.getValue(i), second.getValue(i));
+        }
+    }
+
+    @Test
+    public void placeMines_placesAllMinesOnVeryDenseBoard() {
+        //90 % mines can not be placed without clusters, but the number of mines has to be right anyway
+        Board board = new Board(10, 10);
+        new BoardGenerator(new Random(1)).placeMines(board, 90, 55);
+
+        assertEquals(90, board.countMines());
+        assertFalse(board.isMine(55));
+    }
+
+    @Test
+    public void placeMines_fillsNumbers() {
+        Board board = new Board(30, 30);
+        new BoardGenerator(new Random(7)).placeMines(board, 150, 0);
+
+        for (int position = 0; position < board.getNumberOfCells(); position++) {
+            if (!board.isMine(position)) {
+                int mines = 0;
+                for (int offset : board.getNeighbourIndex().neighbours(position)) {
+                    if (board.isMine(position + offset)) {
+                        mines++;
+                    }
+                }
+                assertEquals(mines, board.getValue(position));
+            }
+        }
+    }
+}
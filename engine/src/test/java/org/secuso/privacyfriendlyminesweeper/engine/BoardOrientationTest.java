@@ -0,0 +1,59 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the mapping between screen and board done by BoardOrientation
+ */
+public class BoardOrientationTest {
+
+    @Test
+    public void portraitKeepsRowsAndColumns() {
+        BoardOrientation orientation = new BoardOrientation(3, 2, false);
+
+        assertEquals(3, orientation.getNumberOfColumns());
+        assertEquals(2, orientation.getNumberOfRows());
+        assertEquals(5, orientation.toPosition(1, 2));
+        assertEquals(1, orientation.getRow(5));
+        assertEquals(2, orientation.getColumn(5));
+    }
+
+    @Test
+    public void landscapeMatchesOldTranspose() {
+        //the old landscape copy of a board with 3 columns and 2 rows: row i on the screen is column i of the board,
+        //read from the last row to the first
+        int columns = 3;
+        int rows = 2;
+        int[] landscape = {3, 0, 4, 1, 5, 2};
+        BoardOrientation orientation = new BoardOrientation(columns, rows, true);
+
+        assertEquals(2, orientation.getNumberOfColumns());
+        assertEquals(3, orientation.getNumberOfRows());
+        for (int i = 0; i < landscape.length; i++) {
+            int row = i / orientation.getNumberOfColumns();
+            int column = i % orientation.getNumberOfColumns();
+            assertEquals(landscape[i], orientation.toPosition(row, column));
+            assertEquals(row, orientation.getRow(landscape[i]));
+            assertEquals(column, orientation.getColumn(landscape[i]));
+        }
+    }
+}
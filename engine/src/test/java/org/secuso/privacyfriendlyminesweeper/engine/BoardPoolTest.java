@@ -0,0 +1,87 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the playing fields generated in advance by BoardPool
+ */
+public class BoardPoolTest {
+
+    //runs the generation right away in the calling thread
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Test
+    public void take_givesPlayingFieldThatOpensAtFirstClick() {
+        BoardPool pool = new BoardPool(12, 19, 46, 4, new BoardGenerator(new Random(3)), DIRECT);
+        int taken = 0;
+        for (int firstClick = 0; firstClick < 12 * 19; firstClick++) {
+            pool.fill();
+            assertEquals(4, pool.size());
+            Board board = pool.take(firstClick);
+            if (board != null) {
+                taken++;
+                assertEquals(46, board.countMines());
+                assertEquals(0, board.getValue(firstClick));
+            }
+        }
+        assertTrue(taken > 0);
+    }
+
+    @Test
+    public void take_emptyPool_givesNull() {
+        BoardPool pool = new BoardPool(6, 10, 7, 2, new BoardGenerator(new Random(3)), DIRECT);
+        assertNull(pool.take(0));
+    }
+
+    @Test
+    public void placeMines_withPregeneratedBoard_isNotSeeded() {
+        BoardPool pool = new BoardPool(10, 16, 24, 1, new NoGuessGenerator(new Random(8), 1), DIRECT);
+        Board pregenerated = null;
+        int firstClick = -1;
+        for (int position = 0; position < 160 && pregenerated == null; position++) {
+            pool.fill();
+            pregenerated = pool.take(position);
+            firstClick = position;
+        }
+        assertNotNull(pregenerated);
+
+        GameEngine engine = new GameEngine(new Board(10, 16), 24, 42L);
+        engine.placeMines(firstClick, pregenerated);
+        engine.reveal(firstClick);
+
+        assertFalse(engine.isSeeded());
+        assertEquals(24, engine.getBoard().countMines());
+        assertTrue(NoGuessGenerator.isSolvable(engine.getBoard(), 24, firstClick, new Solver(10, 16)));
+    }
+}
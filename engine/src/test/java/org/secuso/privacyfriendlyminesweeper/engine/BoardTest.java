@@ -0,0 +1,109 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the bit-packed storage of Board
+ */
+public class BoardTest {
+
+    @Test
+    public void arraysSurviveRoundTrip() {
+        //5x3 playing field, the bitsets end in the middle of a long and the numbers in the middle of a byte
+        int[] data = {
+                1, 9, 2, 1, 0,
+                2, 3, 9, 1, 0,
+                9, 2, 1, 1, 0};
+        int[] status = {
+                1, 2, 0, 1, 1,
+                1, 0, 2, 1, 1,
+                2, 1, 1, 1, 1};
+
+        Board board = Board.fromArrays(5, 3, data, status);
+
+        assertArrayEquals(data, board.toDataArray());
+        assertArrayEquals(status, board.toStatusArray());
+        assertEquals(3, board.countMines());
+        assertEquals(10, board.countStatus(Board.REVEALED));
+        assertEquals(3, board.countStatus(Board.MARKED));
+        assertEquals(2, board.countStatus(Board.COVERED));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arraysOfWrongSizeAreRejected() {
+        Board.fromArrays(5, 3, new int[15], new int[14]);
+    }
+
+    @Test
+    public void setStatusReplacesOldState() {
+        Board board = new Board(10, 10);
+
+        board.setStatus(63, Board.MARKED);
+        board.setStatus(64, Board.REVEALED);
+        assertEquals(Board.MARKED, board.getStatus(63));
+        assertEquals(Board.REVEALED, board.getStatus(64));
+
+        board.setStatus(63, Board.REVEALED);
+        board.setStatus(64, Board.COVERED);
+        assertEquals(Board.REVEALED, board.getStatus(63));
+        assertEquals(Board.COVERED, board.getStatus(64));
+        assertEquals(0, board.countStatus(Board.MARKED));
+        assertEquals(99, board.countStatus(Board.COVERED));
+    }
+
+    @Test
+    public void minesAcrossWordBoundaries() {
+        Board board = new Board(13, 11);
+        int[] mines = {0, 63, 64, 127, 128, 142};
+        for (int mine : mines) {
+            board.setMine(mine);
+        }
+        board.fillNumbers();
+
+        assertEquals(mines.length, board.countMines());
+        for (int mine : mines) {
+            assertTrue(board.isMine(mine));
+            assertEquals(Board.MINE, board.getValue(mine));
+        }
+        assertFalse(board.isMine(62));
+        assertFalse(board.isMine(65));
+        //63 and 64 are the last cells of the row above 50
+        assertEquals(2, board.getValue(50));
+    }
+
+    @Test
+    public void countMarkedNeighbours() {
+        Board board = new Board(3, 3);
+        board.setStatus(0, Board.MARKED);
+        board.setStatus(2, Board.MARKED);
+        board.setStatus(5, Board.REVEALED);
+        board.setStatus(8, Board.MARKED);
+
+        assertEquals(3, board.countMarkedNeighbours(4));
+        assertEquals(2, board.countMarkedNeighbours(1));
+        assertEquals(0, board.countMarkedNeighbours(6));
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the rules implemented by GameEngine
+ */
+public class GameEngineTest {
+
+    /**
+     * Creates a board with mines at the given positions and the numbers filled in
+     */
+    private static Board boardWithMines(int columns, int rows, int... mines) {
+        Board board = new Board(columns, rows);
+        for (int mine : mines) {
+            board.setMine(mine);
+        }
+        board.fillNumbers();
+        return board;
+    }
+
+    @Test
+    public void placeMines_placesAllMinesButNotOnFirstClick() {
+        for (int seed = 0; seed < 50; seed++) {
+            Board board = new Board(12, 19);
+            GameEngine engine = new GameEngine(board, 46, new Random(seed));
+            engine.placeMines(100);
+
+            assertEquals(46, board.countMines());
+            assertFalse(board.isMine(100));
+        }
+    }
+
+    @Test
+    public void fillNumbers_countsNeighbouringMines() {
+        //row 0: . X .
+        //row 1: X . .
+        Board board = boardWithMines(3, 2, 1, 3);
+
+        assertEquals(2, board.getValue(0));
+        assertEquals(Board.MINE, board.getValue(1));
+        assertEquals(1, board.getValue(2));
+        assertEquals(2, board.getValue(4));
+        assertEquals(1, board.getValue(5));
+    }
+
+    @Test
+    public void fillNumbers_onSingleRowAndColumn() {
+        Board row = boardWithMines(5, 1, 0, 2);
+        assertEquals(2, row.getValue(1));
+        assertEquals(1, row.getValue(3));
+        assertEquals(0, row.getValue(4));
+
+        Board column = boardWithMines(1, 4, 3);
+        assertEquals(0, column.getValue(1));
+        assertEquals(1, column.getValue(2));
+    }
+
+    @Test
+    public void reveal_opensRegionAroundEmptyCell() {
+        Board board = boardWithMines(5, 5, 24);
+        GameEngine engine = new GameEngine(board, 1);
+
+        CellList changed = engine.reveal(0);
+
+        assertEquals(24, changed.size());
+        assertEquals(1, engine.getCountDownToWin());
+        assertFalse(engine.isWon());
+        assertEquals(Board.COVERED, board.getStatus(24));
+    }
+
+    @Test
+    public void reveal_opensHugeBoardWithoutStackOverflow() {
+        Board board = boardWithMines(1000, 1000, 999999);
+        GameEngine engine = new GameEngine(board, 1);
+
+        CellList changed = engine.reveal(0);
+
+        assertEquals(999999, changed.size());
+        assertEquals(1, engine.getCountDownToWin());
+    }
+
+    @Test
+    public void reveal_stopsAtNumbers() {
+        //column 3 is filled with mines, so the flood fill has to stop at column 2
+        Board board = boardWithMines(5, 3, 3, 8, 13);
+        GameEngine engine = new GameEngine(board, 3);
+
+        CellList changed = engine.reveal(0);
+
+        assertEquals(9, changed.size());
+        assertEquals(Board.COVERED, board.getStatus(4));
+    }
+
+    @Test
+    public void toggleMark_winsWhenLastMineIsMarked() {
+        Board board = boardWithMines(5, 5, 24);
+        GameEngine engine = new GameEngine(board, 1);
+        engine.reveal(0);
+
+        CellList changed = engine.toggleMark(24);
+
+        assertEquals(1, changed.size());
+        assertEquals(0, engine.getBombsLeft());
+        assertTrue(engine.isWon());
+    }
+
+    @Test
+    public void toggleMark_twiceRemovesMark() {
+        Board board = boardWithMines(3, 3, 4);
+        GameEngine engine = new GameEngine(board, 1);
+
+        engine.toggleMark(0);
+        engine.toggleMark(0);
+
+        assertEquals(Board.COVERED, board.getStatus(0));
+        assertEquals(1, engine.getBombsLeft());
+        assertEquals(9, engine.getCountDownToWin());
+    }
+
+    @Test
+    public void reveal_mineLosesGame() {
+        Board board = boardWithMines(3, 3, 4);
+        GameEngine engine = new GameEngine(board, 1);
+
+        engine.reveal(4);
+
+        assertTrue(engine.isLost());
+        assertEquals(4, engine.getExplodedPosition());
+        assertEquals(0, engine.reveal(0).size());
+    }
+
+    @Test
+    public void revealAround_revealsNeighboursWhenMarksMatch() {
+        Board board = boardWithMines(3, 3, 0);
+        GameEngine engine = new GameEngine(board, 1);
+        engine.reveal(4);
+        engine.toggleMark(0);
+
+        CellList changed = engine.revealAround(4);
+
+        assertEquals(7, changed.size());
+        assertTrue(engine.isWon());
+    }
+
+    @Test
+    public void revealAround_doesNothingWithoutMarks() {
+        Board board = boardWithMines(3, 3, 0);
+        GameEngine engine = new GameEngine(board, 1);
+        engine.reveal(4);
+
+        assertEquals(0, engine.revealAround(4).size());
+        assertEquals(Board.COVERED, board.getStatus(8));
+    }
+
+    @Test
+    public void constructor_takesSavedStateIntoAccount() {
+        Board board = boardWithMines(3, 3, 0);
+        board.setStatus(0, Board.MARKED);
+        board.setStatus(4, Board.REVEALED);
+
+        GameEngine engine = new GameEngine(board, 1);
+
+        assertEquals(0, engine.getBombsLeft());
+        assertEquals(7, engine.getCountDownToWin());
+    }
+
+    @Test
+    public void snapshot_keepsStateOfItsMove() {
+        Board board = boardWithMines(3, 3, 0);
+        GameEngine engine = new GameEngine(board, 1);
+        BoardSnapshot initial = engine.getSnapshot();
+
+        engine.reveal(8);
+        BoardSnapshot afterReveal = engine.getSnapshot();
+        engine.toggleMark(0);
+        engine.revealAround(4);
+
+        assertEquals(Board.COVERED, initial.getStatus(8));
+        assertEquals(Board.REVEALED, afterReveal.getStatus(8));
+        assertEquals(Board.COVERED, afterReveal.getStatus(0));
+        assertEquals(Board.MARKED, engine.getSnapshot().getStatus(0));
+        assertEquals(1, afterReveal.getValue(4));
+        assertEquals(Board.MINE, afterReveal.getValue(0));
+        assertTrue(engine.getSnapshot().getRevision() > afterReveal.getRevision());
+    }
+
+    @Test
+    public void snapshot_isOnlyPublishedWhenCellsChanged() {
+        Board board = boardWithMines(3, 3, 0);
+        GameEngine engine = new GameEngine(board, 1);
+        engine.reveal(8);
+        BoardSnapshot snapshot = engine.getSnapshot();
+
+        engine.reveal(8);
+        engine.revealAround(4);
+
+        assertSame(snapshot, engine.getSnapshot());
+    }
+
+    @Test
+    public void snapshot_isPublishedAfterMovesWhenEnabled() {
+        Board board = boardWithMines(3, 3, 0);
+        GameEngine engine = new GameEngine(board, 1);
+        engine.setPublishSnapshots(true);
+        BoardSnapshot initial = engine.getSnapshot();
+
+        engine.toggleMark(0);
+        BoardSnapshot afterMark = engine.getSnapshot();
+        engine.toggleMark(0);
+
+        assertEquals(Board.COVERED, initial.getStatus(0));
+        assertEquals(Board.MARKED, afterMark.getStatus(0));
+        assertEquals(Board.COVERED, engine.getSnapshot().getStatus(0));
+        assertEquals(Board.MINE, engine.getSnapshot().getValue(0));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of writing and recovering the journal of a game
+ */
+public class GameJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void recoversMovesAfterCheckpoint() throws Exception {
+        File file = folder.newFile("game.journal");
+        GameEngine engine = playedGame();
+        GameJournal journal = new GameJournal(file, "medium");
+        journal.start(engine, 5);
+        engine.toggleMark(0);
+        journal.append(MoveLog.TOGGLE_MARK, 0, 9);
+
+        //while the game is played its journal is not recovered
+        assertNull(GameJournal.recover(file));
+
+        //the process is killed: the journal is never closed, only its open state is forgotten
+        simulateKill(journal);
+        GameJournal.Recovery recovery = GameJournal.recover(file);
+
+        assertEquals("medium", recovery.getGameMode());
+        assertEquals(9, recovery.getSeconds());
+        assertArrayEquals(engine.getBoard().toStatusArray(), recovery.getEngine().getBoard().toStatusArray());
+        assertEquals(engine.getBombsLeft(), recovery.getEngine().getBombsLeft());
+    }
+
+    @Test
+    public void ignoresIncompleteLastRecord() throws Exception {
+        File file = folder.newFile("game.journal");
+        GameEngine engine = playedGame();
+        GameJournal journal = new GameJournal(file, "easy");
+        journal.start(engine, 1);
+        int[] expected = engine.getBoard().toStatusArray();
+        engine.toggleMark(0);
+        journal.append(MoveLog.TOGGLE_MARK, 0, 2);
+        simulateKill(journal);
+
+        RandomAccessFile truncated = new RandomAccessFile(file, "rw");
+        truncated.setLength(truncated.length() - 3);
+        truncated.close();
+        GameJournal.Recovery recovery = GameJournal.recover(file);
+
+        assertEquals(1, recovery.getSeconds());
+        assertArrayEquals(expected, recovery.getEngine().getBoard().toStatusArray());
+    }
+
+    @Test
+    public void compactsAfterManyMoves() throws Exception {
+        File file = folder.newFile("game.journal");
+        GameEngine engine = playedGame();
+        GameJournal journal = new GameJournal(file, "difficult");
+        journal.start(engine, 0);
+        long startLength = file.length();
+        for (int i = 0; i < GameJournal.COMPACT_AFTER; i++) {
+            engine.toggleMark(0);
+            journal.append(MoveLog.TOGGLE_MARK, 0, i);
+        }
+
+        //the moves are now part of the checkpoint, which is smaller than the records it replaces
+        long compactedLength = file.length();
+        simulateKill(journal);
+        GameJournal.Recovery recovery = GameJournal.recover(file);
+
+        assertTrue(compactedLength < startLength + GameJournal.COMPACT_AFTER * 9);
+        assertArrayEquals(engine.getBoard().toStatusArray(), recovery.getEngine().getBoard().toStatusArray());
+    }
+
+    @Test
+    public void deletedJournalIsNotRecovered() throws Exception {
+        File file = folder.newFile("game.journal");
+        GameJournal journal = new GameJournal(file, "easy");
+        journal.start(playedGame(), 0);
+        journal.delete();
+
+        assertNull(GameJournal.recover(file));
+    }
+
+    @Test
+    public void writesOnExecutor() throws Exception {
+        File file = new File(folder.getRoot(), "queued.journal");
+        final List<Runnable> queue = new ArrayList<Runnable>();
+        GameJournal journal = new GameJournal(file, "medium", new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                queue.add(command);
+            }
+        });
+        GameEngine engine = playedGame();
+        journal.start(engine, 3);
+        engine.toggleMark(0);
+        journal.append(MoveLog.TOGGLE_MARK, 0, 4);
+        //the game is encoded by start, later moves do not change the checkpoint
+        engine.toggleMark(1);
+
+        //nothing is written on the calling thread
+        assertFalse(file.exists());
+        for (Runnable command : queue) {
+            command.run();
+        }
+        simulateKill(journal);
+        queue.get(queue.size() - 1).run();
+        GameJournal.Recovery recovery = GameJournal.recover(file);
+
+        assertEquals(4, recovery.getSeconds());
+        assertEquals(Board.MARKED, recovery.getEngine().getBoard().getStatus(0));
+        assertEquals(Board.COVERED, recovery.getEngine().getBoard().getStatus(1));
+    }
+
+    private static GameEngine playedGame() {
+        GameEngine engine = new GameEngine(new Board(10, 16), 24, 77L);
+        engine.placeMines(80);
+        engine.reveal(80);
+        return engine;
+    }
+
+    private static void simulateKill(GameJournal journal) {
+        //closing keeps the file as it is, like a killed process would
+        journal.close();
+    }
+}
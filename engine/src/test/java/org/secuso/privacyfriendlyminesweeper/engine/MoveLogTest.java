@@ -0,0 +1,65 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the compact encoding of moves
+ */
+public class MoveLogTest {
+
+    @Test
+    public void nearMovesNeedOneByte() {
+        MoveLog log = new MoveLog(500);
+        log.add(MoveLog.REVEAL, 501);
+        log.add(MoveLog.TOGGLE_MARK, 490);
+        log.add(MoveLog.REVEAL_AROUND, 490);
+
+        assertEquals(3, log.size());
+        assertEquals(3, log.toByteArray().length);
+    }
+
+    @Test
+    public void replayMakesTheSameMoves() {
+        GameEngine engine = new GameEngine(new Board(30, 16), 99, 99L);
+        engine.placeMines(0);
+        engine.reveal(0);
+        engine.toggleMark(479);
+        engine.reveal(240);
+        engine.toggleMark(479);
+
+        MoveLog log = engine.getMoveLog();
+        MoveLog decoded = MoveLog.fromBytes(0, log.toByteArray(), 0, log.toByteArray().length);
+        GameEngine replayed = new GameEngine(new Board(30, 16), 99, 99L);
+        replayed.placeMines(0);
+        decoded.replay(replayed);
+
+        assertEquals(log.size(), decoded.size());
+        assertArrayEquals(engine.getBoard().toStatusArray(), replayed.getBoard().toStatusArray());
+        assertArrayEquals(log.toByteArray(), replayed.getMoveLog().toByteArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsIncompleteMove() {
+        MoveLog.fromBytes(0, new byte[]{(byte) 0x85}, 0, 1);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of the neighbour tables built by NeighbourIndex
+ */
+public class NeighbourIndexTest {
+
+    private static int[] neighboursOf(NeighbourIndex index, int position) {
+        int[] offsets = index.neighbours(position);
+        int[] neighbours = new int[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            neighbours[i] = position + offsets[i];
+        }
+        Arrays.sort(neighbours);
+        return neighbours;
+    }
+
+    @Test
+    public void neighbours_ofCornersEdgesAndInnerCells() {
+        //4 columns, 3 rows
+        NeighbourIndex index = NeighbourIndex.forSize(4, 3);
+
+        assertArrayEquals(new int[]{1, 4, 5}, neighboursOf(index, 0));
+        assertArrayEquals(new int[]{2, 6, 7}, neighboursOf(index, 3));
+        assertArrayEquals(new int[]{4, 5, 9}, neighboursOf(index, 8));
+        assertArrayEquals(new int[]{6, 7, 10}, neighboursOf(index, 11));
+        assertArrayEquals(new int[]{0, 2, 4, 5, 6}, neighboursOf(index, 1));
+        assertArrayEquals(new int[]{0, 1, 2, 4, 6, 8, 9, 10}, neighboursOf(index, 5));
+    }
+
+    @Test
+    public void orthogonalNeighbours_ofInnerCell() {
+        NeighbourIndex index = NeighbourIndex.forSize(4, 3);
+
+        assertEquals(4, index.orthogonalNeighbours(5).length);
+        assertEquals(2, index.orthogonalNeighbours(0).length);
+    }
+
+    @Test
+    public void neighbours_ofSingleRowAndColumn() {
+        assertArrayEquals(new int[]{0, 2}, neighboursOf(NeighbourIndex.forSize(5, 1), 1));
+        assertArrayEquals(new int[]{1, 3}, neighboursOf(NeighbourIndex.forSize(1, 5), 2));
+        assertEquals(0, NeighbourIndex.forSize(1, 1).neighbours(0).length);
+    }
+
+    @Test
+    public void forSize_sharesIndexOfSameSize() {
+        assertSame(NeighbourIndex.forSize(12, 19), NeighbourIndex.forSize(12, 19));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the playing fields of NoGuessGenerator
+ */
+public class NoGuessGeneratorTest {
+
+    @Test
+    public void placeMines_givesSolvablePlayingFields() {
+        Random random = new Random(11);
+        for (int game = 0; game < 20; game++) {
+            Board board = new Board(12, 19);
+            int firstClick = random.nextInt(12 * 19);
+            NoGuessGenerator generator = new NoGuessGenerator(random, 2);
+            generator.placeMines(board, 46, firstClick);
+
+            assertEquals(46, board.countMines());
+            assertEquals(0, board.getValue(firstClick));
+            assertTrue(NoGuessGenerator.isSolvable(board, 46, firstClick, new Solver(12, 19)));
+            assertTrue(generator.isLastPlacementSolvable());
+        }
+    }
+
+    @Test
+    public void placeMines_doesNotDependOnNumberOfThreads() {
+        Board single = new Board(10, 16);
+        Board parallel = new Board(10, 16);
+        new NoGuessGenerator(new Random(5), 1).placeMines(single, 24, 37);
+        new NoGuessGenerator(new Random(5), 4).placeMines(parallel, 24, 37);
+
+        assertArrayEquals(single.toDataArray(), parallel.toDataArray());
+    }
+
+    @Test
+    public void placeMines_reportsPlayingFieldThatNeedsGuessing() {
+        //the mine is in one of the two cells of the top row, which are never told apart
+        Board board = new Board(2, 3);
+        NoGuessGenerator generator = new NoGuessGenerator(new Random(2), 1);
+        generator.placeMines(board, 1, 0);
+
+        assertEquals(1, board.countMines());
+        assertFalse(generator.isLastPlacementSolvable());
+    }
+
+    @Test
+    public void isSolvable_detectsFiftyFifty() {
+        //the two cells of the top row can only be told apart by guessing
+        //row 1: 1 1, row 0: 0 0 (the first click), one mine in row 2
+        Board board = new Board(2, 3);
+        board.setMine(4);
+        board.fillNumbers();
+
+        assertFalse(NoGuessGenerator.isSolvable(board, 1, 0, new Solver(2, 3)));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the playing fields of ParallelBoardGenerator
+ */
+public class ParallelBoardGeneratorTest {
+
+    private static final int COLUMNS = 400;
+    private static final int ROWS = 300;
+
+    @Test
+    public void placeMinesWithOpening_fillsLargePlayingField() {
+        Board board = new Board(COLUMNS, ROWS);
+        int firstClick = 150 * COLUMNS + 200;
+        new ParallelBoardGenerator(new Random(3), new ForkJoinPool(4)).placeMinesWithOpening(board, 24000, firstClick);
+
+        assertEquals(24000, board.countMines());
+        assertEquals(0, board.getValue(firstClick));
+        for (int pos = 0; pos < board.getNumberOfCells(); pos++) {
+            if (!board.isMine(pos)) {
+                int count = 0;
+                for (int offset : board.getNeighbourIndex().neighbours(pos)) {
+                    if (board.isMine(pos + offset)) {
+                        count++;
+                    }
+                }
+                assertEquals(count, board.getValue(pos));
+            }
+        }
+    }
+
+    @Test
+    public void placeMines_avoidsClustersAcrossBands() {
+        Board board = new Board(COLUMNS, ROWS);
+        new ParallelBoardGenerator(new Random(8), new ForkJoinPool(4)).placeMines(board, 24000, 0);
+
+        //every cluster of horizontally and vertically connected mines has less than 4 mines
+        boolean[] seen = new boolean[board.getNumberOfCells()];
+        int[] stack = new int[board.getNumberOfCells()];
+        for (int pos = 0; pos < board.getNumberOfCells(); pos++) {
+            if (!board.isMine(pos) || seen[pos]) {
+                continue;
+            }
+            int size = 0;
+            int top = 0;
+            stack[top++] = pos;
+            seen[pos] = true;
+            while (top > 0) {
+                int cell = stack[--top];
+                size++;
+                for (int offset : board.getNeighbourIndex().orthogonalNeighbours(cell)) {
+                    int neighbour = cell + offset;
+                    if (board.isMine(neighbour) && !seen[neighbour]) {
+                        seen[neighbour] = true;
+                        stack[top++] = neighbour;
+                    }
+                }
+            }
+            assertTrue("cluster of " + size + " mines at " + pos, size < 4);
+        }
+        assertFalse(board.isMine(0));
+    }
+
+    @Test
+    public void placeMines_doesNotDependOnNumberOfThreads() {
+        Board single = new Board(COLUMNS, ROWS);
+        Board parallel = new Board(COLUMNS, ROWS);
+        new ParallelBoardGenerator(new Random(5), new ForkJoinPool(1)).placeMines(single, 20000, 777);
+        new ParallelBoardGenerator(new Random(5), new ForkJoinPool(4)).placeMines(parallel, 20000, 777);
+
+        assertArrayEquals(single.toDataArray(), parallel.toDataArray());
+    }
+}
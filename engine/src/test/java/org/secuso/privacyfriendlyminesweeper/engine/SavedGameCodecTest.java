@@ -0,0 +1,123 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the binary format of saved games
+ */
+public class SavedGameCodecTest {
+
+    @Test
+    public void roundTripKeepsMinesNumbersAndStates() {
+        //sizes below, at and above the 64 cells of one word
+        int[][] sizes = {{1, 1}, {7, 9}, {8, 8}, {13, 11}, {100, 100}};
+        Random random = new Random(42);
+        for (int[] size : sizes) {
+            Board board = randomBoard(size[0], size[1], random);
+            for (boolean compress : new boolean[]{false, true}) {
+                Board decoded = SavedGameCodec.decode(SavedGameCodec.encode(board, compress));
+
+                assertEquals(board.getNumberOfColumns(), decoded.getNumberOfColumns());
+                assertEquals(board.getNumberOfRows(), decoded.getNumberOfRows());
+                assertArrayEquals(board.toDataArray(), decoded.toDataArray());
+                assertArrayEquals(board.toStatusArray(), decoded.toStatusArray());
+            }
+        }
+    }
+
+    @Test
+    public void encodedGameIsSmallerThanOneCharPerCell() {
+        Board board = randomBoard(1000, 1000, new Random(1));
+
+        //the old format needed two characters per cell, the new one needs three bits
+        assertTrue(SavedGameCodec.encode(board, false).length < 1000 * 1000 / 2);
+    }
+
+    @Test
+    public void seededGameIsRestoredByReplayingItsMoves() {
+        GameEngine engine = new GameEngine(new Board(100, 100), 1500, 1234L);
+        engine.placeMines(5050);
+        engine.reveal(5050);
+        Random random = new Random(7);
+        for (int i = 0; i < 50 && !engine.isGameEnded(); i++) {
+            int position = random.nextInt(10000);
+            if (engine.getBoard().isMine(position)) {
+                engine.toggleMark(position);
+            } else {
+                engine.reveal(position);
+            }
+        }
+
+        byte[] encoded = SavedGameCodec.encodeGame(engine, true);
+        GameEngine restored = SavedGameCodec.decodeGame(encoded, 0);
+
+        assertTrue(encoded.length < 200);
+        assertArrayEquals(engine.getBoard().toDataArray(), restored.getBoard().toDataArray());
+        assertArrayEquals(engine.getBoard().toStatusArray(), restored.getBoard().toStatusArray());
+        assertEquals(engine.getBombsLeft(), restored.getBombsLeft());
+        assertEquals(engine.getCountDownToWin(), restored.getCountDownToWin());
+        assertEquals(engine.getMoveLog().size(), restored.getMoveLog().size());
+    }
+
+    @Test
+    public void gameWithoutSeedIsSavedAsBoard() {
+        GameEngine engine = new GameEngine(new Board(9, 9), 10, new Random(3));
+        engine.placeMines(40);
+        engine.reveal(40);
+
+        GameEngine restored = SavedGameCodec.decodeGame(SavedGameCodec.encodeGame(engine, false), 10);
+
+        assertArrayEquals(engine.getBoard().toStatusArray(), restored.getBoard().toStatusArray());
+        assertEquals(10, restored.getBombsLeft());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsWrongMagic() {
+        byte[] encoded = SavedGameCodec.encode(new Board(3, 3), false);
+        encoded[0] = 'X';
+        SavedGameCodec.decode(encoded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTruncatedData() {
+        byte[] encoded = SavedGameCodec.encode(new Board(10, 10), true);
+        byte[] truncated = new byte[encoded.length - 2];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+        SavedGameCodec.decode(truncated);
+    }
+
+    private static Board randomBoard(int columns, int rows, Random random) {
+        Board board = new Board(columns, rows);
+        for (int pos = 0; pos < board.getNumberOfCells(); pos++) {
+            if (random.nextInt(5) == 0) {
+                board.setMine(pos);
+            }
+            board.setStatus(pos, random.nextInt(3));
+        }
+        board.fillNumbers();
+        return board;
+    }
+}
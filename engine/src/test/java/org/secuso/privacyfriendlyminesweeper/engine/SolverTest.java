@@ -0,0 +1,175 @@
+/*
+ This file is part of Privacy Friendly Minesweeper.
+
+ Privacy Friendly Minesweeper is free software:
+ you can redistribute it and/or modify it under the terms of the
+ GNU General Public License as published by the Free Software Foundation,
+ either version 3 of the License, or any later version.
+
+ Privacy Friendly Minesweeper is distributed in the hope
+ that it will be useful, but WITHOUT ANY WARRANTY; without even
+ the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ See the GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with Privacy Friendly Minesweeper. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.secuso.privacyfriendlyminesweeper.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the deductions and probabilities of Solver
+ */
+public class SolverTest {
+
+    private static Board boardWithMines(int numberOfColumns, int numberOfRows, int... mines) {
+        Board board = new Board(numberOfColumns, numberOfRows);
+        for (int mine : mines) {
+            board.setMine(mine);
+        }
+        board.fillNumbers();
+        return board;
+    }
+
+    /**
+     * Counts the placements of the mines on the covered cells that fit all revealed numbers, by brute force
+     * @return probability of a mine for every cell
+     */
+    private static double[] bruteForce(Board board, int numberOfBombs) {
+        int numberOfCells = board.getNumberOfCells();
+        int[] covered = new int[numberOfCells];
+        int numberOfCovered = 0;
+        for (int position = 0; position < numberOfCells; position++) {
+            if (board.getStatus(position) != Board.REVEALED) {
+                covered[numberOfCovered++] = position;
+            }
+        }
+
+        double[] mines = new double[numberOfCells];
+        int placements = 0;
+        for (int subset = 0; subset < (1 << numberOfCovered); subset++) {
+            if (Integer.bitCount(subset) != numberOfBombs) {
+                continue;
+            }
+            Board candidate = new Board(board.getNumberOfColumns(), board.getNumberOfRows());
+            for (int i = 0; i < numberOfCovered; i++) {
+                if ((subset & (1 << i)) != 0) {
+                    candidate.setMine(covered[i]);
+                }
+            }
+            candidate.fillNumbers();
+            boolean fits = true;
+            for (int position = 0; position < numberOfCells && fits; position++) {
+                fits = board.getStatus(position) != Board.REVEALED || candidate.getValue(position) == board.getValue(position);
+            }
+            if (fits) {
+                placements++;
+                for (int i = 0; i < numberOfCovered; i++) {
+                    if ((subset & (1 << i)) != 0) {
+                        mines[covered[i]]++;
+                    }
+                }
+            }
+        }
+        for (int position = 0; position < numberOfCells; position++) {
+            mines[position] /= placements;
+        }
+        return mines;
+    }
+
+    @Test
+    public void solve_nothingRevealed_givesDensity() {
+        Board board = boardWithMines(6, 10, 1, 2, 3);
+        Solver.Result result = new Solver(6, 10).solve(board, 3);
+
+        assertTrue(result.getSafeCells().isEmpty());
+        assertTrue(result.getMines().isEmpty());
+        for (int position = 0; position < 60; position++) {
+            assertEquals(3 / 60.0, result.getMineProbability(position), 1e-12);
+        }
+    }
+
+    @Test
+    public void solve_singleNumbers_decideNeighbours() {
+        //row 0 is revealed: 1 1 0 0, the mine is above the first cell
+        Board board = boardWithMines(4, 2, 4);
+        for (int position = 0; position < 4; position++) {
+            board.setStatus(position, Board.REVEALED);
+        }
+        Solver.Result result = new Solver(4, 2).solve(board, 1);
+
+        assertArrayEquals(new int[]{5, 6, 7}, result.getSafeCells().toArray());
+        assertArrayEquals(new int[]{4}, result.getMines().toArray());
+        assertEquals(1, result.getMineProbability(4), 0);
+        assertEquals(0, result.getMineProbability(0), 0);
+    }
+
+    @Test
+    public void solve_matchesBruteForce() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            Board board = new Board(4, 4);
+            new BoardGenerator(random).placeMines(board, 4, random.nextInt(16));
+            for (int position = 0; position < 16; position++) {
+                if (!board.isMine(position) && random.nextInt(3) == 0) {
+                    board.setStatus(position, Board.REVEALED);
+                }
+            }
+
+            double[] expected = bruteForce(board, 4);
+            Solver.Result result = new Solver(4, 4).solve(board, 4);
+            for (int position = 0; position < 16; position++) {
+                assertEquals(expected[position], result.getMineProbability(position), 1e-9);
+            }
+            for (int i = 0; i < result.getSafeCells().size(); i++) {
+                assertEquals(0, expected[result.getSafeCells().get(i)], 0);
+            }
+            for (int i = 0; i < result.getMines().size(); i++) {
+                assertEquals(1, expected[result.getMines().get(i)], 0);
+            }
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void solve_wideFrontier_returnsInTime() {
+        //about 40% of the safe cells revealed at random gives a frontier with far too many placements to enumerate
+        Random random = new Random(13);
+        Solver solver = new Solver(30, 16);
+        for (int round = 0; round < 20; round++) {
+            Board board = new Board(30, 16);
+            new BoardGenerator(random).placeMines(board, 99, random.nextInt(30 * 16));
+            for (int position = 0; position < 30 * 16; position++) {
+                if (!board.isMine(position) && random.nextInt(5) < 2) {
+                    board.setStatus(position, Board.REVEALED);
+                }
+            }
+
+            Solver.Result result = solver.solve(board, 99);
+            for (int i = 0; i < result.getSafeCells().size(); i++) {
+                assertFalse(board.isMine(result.getSafeCells().get(i)));
+            }
+            for (int i = 0; i < result.getMines().size(); i++) {
+                assertTrue(board.isMine(result.getMines().get(i)));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void solve_impossibleNumbers_throws() {
+        Board board = boardWithMines(4, 2, 4);
+        for (int position = 0; position < 4; position++) {
+            board.setStatus(position, Board.REVEALED);
+        }
+        //the revealed numbers need a mine, but there is none
+        new Solver(4, 2).solve(board, 0);
+    }
+}